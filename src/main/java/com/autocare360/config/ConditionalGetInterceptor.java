@@ -0,0 +1,46 @@
+package com.autocare360.config;
+
+import com.autocare360.security.AuthenticatedUser;
+import com.autocare360.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conditional GET for per-user views. Sets an ETag built from the caller's {@link
+ * DataVersionService} version and answers a matching {@code If-None-Match} with 304 before the
+ * handler runs, so an unchanged poll costs one primary-key read and no serialization.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+  private final DataVersionService dataVersions;
+
+  @Override
+  public boolean preHandle(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    if (!"GET".equals(request.getMethod())) return true;
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser)) {
+      return true; // let the handler reject it
+    }
+    Long userId = ((AuthenticatedUser) authentication.getPrincipal()).userId();
+
+    String etag = dataVersions.etagFor(userId, LocalDate.now());
+    // Per-user data: shared caches must not store it, browsers must revalidate every time
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    return !new ServletWebRequest(request, response).checkNotModified(etag);
+  }
+}
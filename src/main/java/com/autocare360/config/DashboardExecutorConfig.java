@@ -0,0 +1,17 @@
+package com.autocare360.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+  /** One virtual thread per dashboard widget query; widgets block on JDBC, not CPU. */
+  @Bean(destroyMethod = "close")
+  public ExecutorService dashboardExecutor() {
+    return Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("dashboard-widget-", 0).factory());
+  }
+}
@@ -1,15 +1,25 @@
 package com.autocare360.config;
 
+import com.autocare360.security.CurrentUserArgumentResolver;
 import java.util.Arrays;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
-public class WebConfig {
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final CurrentUserArgumentResolver currentUserArgumentResolver;
+  private final ConditionalGetInterceptor conditionalGetInterceptor;
 
   @Value("${app.cors.allowed-origins:https://autocare360.vercel.app,http://localhost:3000}")
   private String allowedOrigins;
@@ -25,4 +35,30 @@ public class WebConfig {
     source.registerCorsConfiguration("/**", config);
     return new CorsFilter(source);
   }
+
+  @Override
+  public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+    resolvers.add(currentUserArgumentResolver);
+  }
+
+  // Per-user views whose writes bump DataVersionService; anything showing other users' data
+  // (admin lists, active projects, user search) must stay out of this list
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry
+        .addInterceptor(conditionalGetInterceptor)
+        .addPathPatterns(
+            "/api/employee/dashboard/**",
+            "/api/notifications",
+            "/api/notifications/unread",
+            "/api/notifications/unread/count",
+            "/api/notifications/preferences",
+            "/api/appointments",
+            "/api/time-logs",
+            "/api/time-logs/page",
+            "/api/time-logs/summary",
+            "/api/messages/conversations",
+            "/api/messages/conversation/*",
+            "/api/messages/unread/count");
+  }
 }
@@ -2,9 +2,15 @@ package com.autocare360.config;
 
 import com.autocare360.entity.User;
 import com.autocare360.repo.UserRepository;
+import com.autocare360.security.JwtClaims;
 import com.autocare360.security.JwtService;
+import com.autocare360.security.TokenRevocationRegistry;
+import com.autocare360.security.UserPrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import java.security.Principal;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
@@ -22,7 +28,19 @@ import org.springframework.stereotype.Component;
 public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
 
   private final JwtService jwtService;
+  private final TokenRevocationRegistry revocationRegistry;
+  private final UserPrincipalCache principalCache;
   private final UserRepository userRepository;
+  private final MeterRegistry meterRegistry;
+
+  private Timer successTimer;
+  private Timer failureTimer;
+
+  @PostConstruct
+  void init() {
+    this.successTimer = connectTimer("success");
+    this.failureTimer = connectTimer("failure");
+  }
 
   @Override
   public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
@@ -30,58 +48,81 @@ public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
         MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
 
     if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
-      // Extract JWT token from STOMP headers
-      String authHeader = accessor.getFirstNativeHeader("Authorization");
+      long start = System.nanoTime();
+      String principalEmail = null;
+      try {
+        principalEmail = authenticate(accessor.getFirstNativeHeader("Authorization"));
+      } catch (Exception e) {
+        log.error("❌ WebSocket authentication error: {}", e.getMessage());
+      }
 
-      if (authHeader != null && authHeader.startsWith("Bearer ")) {
-        String token = authHeader.substring(7);
+      if (principalEmail != null) {
+        final String email = principalEmail;
+        log.debug("✅ WebSocket authentication successful for user (email): {}", email);
+        // Create a simple Principal with the user's email
+        Principal principal = () -> email;
+        accessor.setUser(principal);
+      }
+      Timer timer = principalEmail != null ? successTimer : failureTimer;
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 
-        try {
-          if (jwtService.isTokenValid(token)) {
-            // Prefer email/username from token subject; some tokens may contain numeric userId
-            String subject = jwtService.extractSubject(token);
-            String emailCandidate = subject;
-            String resolvedEmail = emailCandidate;
+    return message;
+  }
 
-            if (resolvedEmail != null && !resolvedEmail.contains("@")) {
-              // Subject appears to be a numeric ID; resolve to email for user-destination routing
-              try {
-                Long userId = Long.parseLong(resolvedEmail);
-                Optional<User> userOpt = userRepository.findById(userId);
-                if (userOpt.isPresent()) {
-                  resolvedEmail = userOpt.get().getEmail();
-                } else {
-                  log.warn("❌ WebSocket auth: Could not resolve email for userId {}", userId);
-                  resolvedEmail = null;
-                }
-              } catch (NumberFormatException nfe) {
-                log.warn("❌ WebSocket auth: Subject '{}' is not an email or numeric id", subject);
-                resolvedEmail = null;
-              }
-            }
+  /** Verify the bearer token once and resolve the email used for user-destination routing. */
+  private String authenticate(String authHeader) {
+    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+      log.warn("⚠️ WebSocket CONNECT without Authorization header");
+      return null;
+    }
 
-            if (resolvedEmail != null && !resolvedEmail.isBlank()) {
-              final String principalEmail = resolvedEmail;
-              log.info(
-                  "✅ WebSocket authentication successful for user (email): {}", principalEmail);
-              // Create a simple Principal with the user's email
-              Principal principal = () -> principalEmail;
-              accessor.setUser(principal);
-            } else {
-              log.warn(
-                  "❌ WebSocket authentication failed: Could not determine email principal from token");
-            }
-          } else {
-            log.warn("❌ WebSocket authentication failed: Invalid token");
-          }
-        } catch (Exception e) {
-          log.error("❌ WebSocket authentication error: {}", e.getMessage());
-        }
-      } else {
-        log.warn("⚠️ WebSocket CONNECT without Authorization header");
+    JwtClaims claims = jwtService.verify(authHeader.substring(7)).orElse(null);
+    if (claims == null) {
+      log.warn("❌ WebSocket authentication failed: Invalid token");
+      return null;
+    }
+
+    String subject = claims.subject();
+    // Legacy tokens carried the email as subject; their user is looked up for the revocation check
+    boolean legacy = subject != null && subject.contains("@");
+    Long userId;
+    if (legacy) {
+      userId = userRepository.findByEmail(subject).map(User::getId).orElse(null);
+      if (userId == null) {
+        log.warn("❌ WebSocket auth: No user with email {}", subject);
+        return null;
+      }
+    } else {
+      try {
+        userId = Long.parseLong(subject);
+      } catch (NumberFormatException nfe) {
+        log.warn("❌ WebSocket auth: Subject '{}' is not an email or numeric id", subject);
+        return null;
       }
     }
 
-    return message;
+    if (revocationRegistry.isRevoked(userId, claims)) {
+      log.warn("❌ WebSocket authentication failed: Token has been revoked");
+      return null;
+    }
+    if (legacy) {
+      return subject;
+    }
+
+    String email = principalCache.emailFor(userId);
+    if (email == null || email.isBlank()) {
+      log.warn("❌ WebSocket auth: Could not resolve email for userId {}", userId);
+      return null;
+    }
+    return email;
+  }
+
+  private Timer connectTimer(String outcome) {
+    return Timer.builder("ws.connect.auth.latency")
+        .description("Time spent authenticating STOMP CONNECT frames")
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
   }
 }
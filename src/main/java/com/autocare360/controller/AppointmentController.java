@@ -3,7 +3,8 @@ package com.autocare360.controller;
 import com.autocare360.dto.AppointmentRequest;
 import com.autocare360.dto.AppointmentResponse;
 import com.autocare360.dto.AvailabilityResponse;
-import com.autocare360.security.JwtService;
+import com.autocare360.dto.FreeSlotDTO;
+import com.autocare360.security.CurrentUser;
 import com.autocare360.service.AppointmentService;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
@@ -18,7 +19,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -29,23 +29,10 @@ import org.springframework.web.bind.annotation.RestController;
 public class AppointmentController {
 
   private final AppointmentService appointmentService;
-  private final JwtService jwtService;
 
   /** Get appointments for the authenticated user */
   @GetMapping("/appointments")
-  public ResponseEntity<List<AppointmentResponse>> getMyAppointments(
-      @RequestHeader(value = "Authorization", required = false) String authorization) {
-
-    if (authorization == null || !authorization.startsWith("Bearer ")) {
-      return ResponseEntity.status(401).build();
-    }
-
-    String token = authorization.substring(7);
-    if (!jwtService.isTokenValid(token)) {
-      return ResponseEntity.status(401).build();
-    }
-
-    Long userId = Long.valueOf(jwtService.extractSubject(token));
+  public ResponseEntity<List<AppointmentResponse>> getMyAppointments(@CurrentUser Long userId) {
     List<AppointmentResponse> appointments = appointmentService.listByUser(userId);
     return ResponseEntity.ok(appointments);
   }
@@ -53,19 +40,7 @@ public class AppointmentController {
   /** Create a new appointment */
   @PostMapping("/appointments")
   public ResponseEntity<AppointmentResponse> createAppointment(
-      @RequestHeader(value = "Authorization", required = false) String authorization,
-      @Valid @RequestBody AppointmentRequest request) {
-
-    if (authorization == null || !authorization.startsWith("Bearer ")) {
-      return ResponseEntity.status(401).build();
-    }
-
-    String token = authorization.substring(7);
-    if (!jwtService.isTokenValid(token)) {
-      return ResponseEntity.status(401).build();
-    }
-
-    Long userId = Long.valueOf(jwtService.extractSubject(token));
+      @CurrentUser Long userId, @Valid @RequestBody AppointmentRequest request) {
     request.setUserId(userId); // Override userId with authenticated user
 
     AppointmentResponse response = appointmentService.create(request);
@@ -75,49 +50,39 @@ public class AppointmentController {
   /** Update an existing appointment */
   @PutMapping("/appointments/{id}")
   public ResponseEntity<AppointmentResponse> updateAppointment(
-      @RequestHeader(value = "Authorization", required = false) String authorization,
-      @PathVariable Long id,
-      @Valid @RequestBody AppointmentRequest request) {
-
-    if (authorization == null || !authorization.startsWith("Bearer ")) {
-      return ResponseEntity.status(401).build();
-    }
-
-    String token = authorization.substring(7);
-    if (!jwtService.isTokenValid(token)) {
-      return ResponseEntity.status(401).build();
-    }
-
+      @PathVariable Long id, @Valid @RequestBody AppointmentRequest request) {
     AppointmentResponse response = appointmentService.update(id, request);
     return ResponseEntity.ok(response);
   }
 
   /** Delete an appointment */
   @DeleteMapping("/appointments/{id}")
-  public ResponseEntity<Void> deleteAppointment(
-      @RequestHeader(value = "Authorization", required = false) String authorization,
-      @PathVariable Long id) {
-
-    if (authorization == null || !authorization.startsWith("Bearer ")) {
-      return ResponseEntity.status(401).build();
-    }
-
-    String token = authorization.substring(7);
-    if (!jwtService.isTokenValid(token)) {
-      return ResponseEntity.status(401).build();
-    }
-
+  public ResponseEntity<Void> deleteAppointment(@PathVariable Long id) {
     appointmentService.delete(id);
     return ResponseEntity.noContent().build();
   }
 
-  /** Get available time slots and technicians for a given date */
+  /** Get available time slots and technicians for a given date, sized to the service's job */
   @GetMapping("/availability")
   public ResponseEntity<AvailabilityResponse> getAvailability(
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-      @RequestParam(required = false) String technician) {
+      @RequestParam(required = false) String technician,
+      @RequestParam(required = false) String service) {
 
-    AvailabilityResponse response = appointmentService.getAvailability(date, technician);
+    AvailabilityResponse response = appointmentService.getAvailability(date, technician, service);
     return ResponseEntity.ok(response);
   }
+
+  /** Get the earliest free time slots across several days in one call */
+  @GetMapping("/availability/next")
+  public ResponseEntity<List<FreeSlotDTO>> getNextFreeSlots(
+      @RequestParam String service,
+      @RequestParam(required = false) String technician,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(defaultValue = "30") int days,
+      @RequestParam(defaultValue = "10") int count) {
+
+    return ResponseEntity.ok(
+        appointmentService.findNextFreeSlots(service, technician, from, days, count));
+  }
 }
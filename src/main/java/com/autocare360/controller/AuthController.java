@@ -6,6 +6,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,12 +33,14 @@ public class AuthController {
 
   @PostMapping("/refresh")
   public ResponseEntity<RefreshResponse> refresh(@Valid @RequestBody RefreshRequest request) {
-    // Simple stateless: issue a new access token if needed in future (stubbed for now)
-    return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+    return ResponseEntity.ok(authService.refresh(request));
   }
 
+  // Body is optional so clients without a refresh token can still call logout
   @PostMapping("/logout")
-  public ResponseEntity<Void> logout() {
+  public ResponseEntity<Void> logout(
+      @RequestBody(required = false) RefreshRequest request, Authentication authentication) {
+    authService.logout(request != null ? request.getRefreshToken() : null, authentication);
     return ResponseEntity.noContent().build();
   }
 }
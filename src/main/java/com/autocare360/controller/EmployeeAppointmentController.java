@@ -4,16 +4,16 @@ import com.autocare360.dto.AppointmentRequest;
 import com.autocare360.dto.AppointmentResponse;
 import com.autocare360.entity.User;
 import com.autocare360.repo.UserRepository;
-import com.autocare360.security.JwtService;
+import com.autocare360.security.CurrentUser;
 import com.autocare360.service.AppointmentService;
 import java.util.Arrays;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,44 +23,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class EmployeeAppointmentController {
 
   private final AppointmentService appointmentService;
-  private final JwtService jwtService;
   private final UserRepository userRepository;
 
   /**
    * Get appointments for the logged-in employee Only returns CONFIRMED and IN_PROGRESS appointments
    */
   @GetMapping
-  public ResponseEntity<?> getMyAppointments(
-      @RequestHeader(value = "Authorization", required = false) String authorization) {
-
-    if (authorization == null || !authorization.startsWith("Bearer ")) {
-      return ResponseEntity.status(401)
-          .body(
-              java.util.Map.of(
-                  "error", "Unauthorized",
-                  "message", "No authorization header provided"));
-    }
-
-    String token = authorization.substring(7);
-    if (!jwtService.isTokenValid(token)) {
-      return ResponseEntity.status(401)
-          .body(
-              java.util.Map.of(
-                  "error", "Unauthorized",
-                  "message", "Invalid or expired token"));
-    }
-
-    Long userId = Long.valueOf(jwtService.extractSubject(token));
-
-    // Verify user has EMPLOYEE role
-    boolean isEmployee = jwtService.hasRole(authorization, "EMPLOYEE");
-    if (!isEmployee) {
-      return ResponseEntity.status(403)
-          .body(
-              java.util.Map.of(
-                  "error", "Forbidden",
-                  "message", "Access denied. Employee role required."));
-    }
+  @PreAuthorize("hasRole('EMPLOYEE')")
+  public ResponseEntity<?> getMyAppointments(@CurrentUser Long userId) {
 
     // Get user to verify they are an employee
     User user = userRepository.findById(userId).orElse(null);
@@ -101,36 +71,8 @@ public class EmployeeAppointmentController {
    * APPROVED appointments to IN_PROGRESS
    */
   @PutMapping("/{id}/start")
-  public ResponseEntity<?> startService(
-      @PathVariable Long id,
-      @RequestHeader(value = "Authorization", required = false) String authorization) {
-
-    if (authorization == null || !authorization.startsWith("Bearer ")) {
-      return ResponseEntity.status(401)
-          .body(
-              java.util.Map.of(
-                  "error", "Unauthorized",
-                  "message", "No authorization header provided"));
-    }
-
-    String token = authorization.substring(7);
-    if (!jwtService.isTokenValid(token)) {
-      return ResponseEntity.status(401)
-          .body(
-              java.util.Map.of(
-                  "error", "Unauthorized",
-                  "message", "Invalid or expired token"));
-    }
-
-    // Verify user has EMPLOYEE role
-    boolean isEmployee = jwtService.hasRole(authorization, "EMPLOYEE");
-    if (!isEmployee) {
-      return ResponseEntity.status(403)
-          .body(
-              java.util.Map.of(
-                  "error", "Forbidden",
-                  "message", "Access denied. Employee role required."));
-    }
+  @PreAuthorize("hasRole('EMPLOYEE')")
+  public ResponseEntity<?> startService(@PathVariable Long id) {
 
     try {
       // Create request to update status to IN_PROGRESS
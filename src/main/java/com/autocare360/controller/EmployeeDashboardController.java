@@ -1,23 +1,34 @@
 package com.autocare360.controller;
 
 import com.autocare360.dto.AssignedJobDTO;
+import com.autocare360.dto.AssignedJobRow;
+import com.autocare360.dto.DailyHoursRow;
+import com.autocare360.dto.EmployeeDashboardCounters;
+import com.autocare360.dto.EmployeeDashboardOverviewDTO;
 import com.autocare360.dto.EmployeeDashboardSummaryDTO;
 import com.autocare360.dto.JobActionResponseDTO;
 import com.autocare360.dto.JobStatusUpdateResponseDTO;
+import com.autocare360.dto.ServiceCountRow;
 import com.autocare360.dto.TaskDistributionDTO;
 import com.autocare360.dto.TodayAppointmentDTO;
 import com.autocare360.dto.UpdateJobStatusRequestDTO;
 import com.autocare360.dto.WeeklyWorkloadDTO;
+import com.autocare360.dto.WorkloadWeekDTO;
 import com.autocare360.entity.Appointment;
-import com.autocare360.entity.Employee;
 import com.autocare360.entity.Notification;
-import com.autocare360.entity.TimeLog;
+import com.autocare360.exception.ConflictException;
 import com.autocare360.exception.ResourceNotFoundException;
+import com.autocare360.exception.ServiceBusyException;
 import com.autocare360.repo.AppointmentRepository;
 import com.autocare360.repo.EmployeeRepository;
 import com.autocare360.repo.NotificationRepository;
 import com.autocare360.repo.TimeLogRepository;
-import com.autocare360.util.AuthUtil;
+import com.autocare360.security.CurrentUser;
+import com.autocare360.service.AppointmentService;
+import com.autocare360.service.DataVersionService;
+import com.autocare360.service.EmployeeHoursCounterService;
+import com.autocare360.service.TaskDistributionService;
+import com.autocare360.util.ServiceTypeColors;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -29,16 +40,24 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -56,61 +75,98 @@ public class EmployeeDashboardController {
 
   private static final Logger logger = LoggerFactory.getLogger(EmployeeDashboardController.class);
 
+  private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+  // A year view plus slack; bounds the grouped range query
+  private static final int MAX_WORKLOAD_WEEKS = 104;
+
   @Autowired private AppointmentRepository appointmentRepository;
 
   @Autowired private EmployeeRepository employeeRepository;
 
   @Autowired private TimeLogRepository timeLogRepository;
 
-  @Autowired private AuthUtil authUtil;
-
   @Autowired private SimpMessagingTemplate messagingTemplate;
 
   @Autowired private NotificationRepository notificationRepository;
 
+  @Autowired private EmployeeHoursCounterService hoursCounters;
+
+  @Autowired private TaskDistributionService taskDistribution;
+
+  @Autowired private DataVersionService dataVersions;
+
+  @Autowired private AppointmentService appointmentService;
+
+  @Autowired
+  @Qualifier("dashboardExecutor")
+  private ExecutorService dashboardExecutor;
+
+  // Every overview widget must finish within this long of the request starting
+  @Value("${app.dashboard.overview.widget-timeout-ms:3000}")
+  private long widgetTimeoutMs;
+
+  // 0. GET /api/employee/dashboard/overview - All widgets in one call, queried concurrently
+  @GetMapping("/overview")
+  public ResponseEntity<EmployeeDashboardOverviewDTO> getOverview(
+      @RequestParam(required = false, defaultValue = "month") String period,
+      @CurrentUser Long employeeId) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(widgetTimeoutMs);
+
+    Future<EmployeeDashboardSummaryDTO> summary =
+        submitWidget(() -> getDashboardSummary(employeeId));
+    Future<List<AssignedJobDTO>> assignedJobs =
+        submitWidget(() -> getAssignedJobs(null, false, employeeId));
+    Future<List<TodayAppointmentDTO>> todayAppointments =
+        submitWidget(() -> getTodayAppointments(employeeId));
+    Future<List<WeeklyWorkloadDTO>> weeklyWorkload =
+        submitWidget(() -> getWeeklyWorkload(0, employeeId));
+    Future<List<TaskDistributionDTO>> taskDistribution =
+        submitWidget(() -> getTaskDistribution(period, employeeId));
+
+    // Widgets that fail or time out are left null and reported in errors
+    Map<String, String> errors = new LinkedHashMap<>();
+    EmployeeDashboardOverviewDTO overview =
+        new EmployeeDashboardOverviewDTO(
+            awaitWidget("summary", summary, deadline, employeeId, errors),
+            awaitWidget("assignedJobs", assignedJobs, deadline, employeeId, errors),
+            awaitWidget("todayAppointments", todayAppointments, deadline, employeeId, errors),
+            awaitWidget("weeklyWorkload", weeklyWorkload, deadline, employeeId, errors),
+            awaitWidget("taskDistribution", taskDistribution, deadline, employeeId, errors),
+            errors);
+
+    return ResponseEntity.ok(overview);
+  }
+
   // 1. GET /api/employee/dashboard/summary - Dashboard statistics
   @GetMapping("/summary")
   public ResponseEntity<EmployeeDashboardSummaryDTO> getDashboardSummary(
-      Authentication authentication) {
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
+      @CurrentUser Long employeeId) {
+    LocalDate today = LocalDate.now();
+    LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+    LocalDate weekEnd = today.with(DayOfWeek.SUNDAY);
+    LocalDate monthStart = today.withDayOfMonth(1);
+    LocalDate monthEnd = today.withDayOfMonth(today.lengthOfMonth());
 
-    // Get employee
-    Employee employee =
+    // 1-4. Name, active/in-progress jobs and completed this month in one query
+    EmployeeDashboardCounters counters =
         employeeRepository
-            .findById(employeeId)
+            .findDashboardCounters(
+                employeeId, monthStart.atStartOfDay(), monthEnd.atTime(23, 59, 59))
             .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
-    // 1. Count active jobs (IN_PROGRESS or APPROVED)
-    List<Appointment> activeJobs =
-        appointmentRepository.findByAssignedUser_IdAndStatusInOrderByDateAscTimeAsc(
-            employeeId, Arrays.asList("IN_PROGRESS", "APPROVED"));
-    Integer activeJobsCount = activeJobs.size();
-    Integer jobsInProgress =
-        (int) activeJobs.stream().filter(a -> "IN_PROGRESS".equals(a.getStatus())).count();
+    Integer activeJobsCount = toInt(counters.getActiveJobs());
+    Integer jobsInProgress = toInt(counters.getJobsInProgress());
+    Integer completedThisMonth = toInt(counters.getCompletedThisMonth());
 
-    // 2. Calculate today's hours
-    LocalDate today = LocalDate.now();
-    BigDecimal todayHours = timeLogRepository.sumHoursByEmployeeAndDate(employeeId, today);
-    if (todayHours == null) todayHours = BigDecimal.ZERO;
+    // 5. Today's and this week's hours from the in-memory hour counters
+    BigDecimal todayHours = hoursCounters.hoursOn(employeeId, today);
+    BigDecimal weekHours = hoursCounters.hoursBetween(employeeId, weekStart, weekEnd);
 
-    // 3. Target hours (8 hours per day)
+    // Target hours (8 hours per day)
     BigDecimal targetHours = new BigDecimal("8.0");
 
-    // 4. Count completed jobs this month
-    LocalDate monthStart = today.withDayOfMonth(1);
-    LocalDate monthEnd = today.withDayOfMonth(today.lengthOfMonth());
-    Integer completedThisMonth =
-        appointmentRepository.countByAssignedUserIdAndStatusAndUpdatedAtBetween(
-            employeeId, "COMPLETED", monthStart.atStartOfDay(), monthEnd.atTime(23, 59, 59));
-    if (completedThisMonth == null) completedThisMonth = 0;
-
-    // 5. Calculate efficiency rate (weekly hours / 40 hours * 100)
-    LocalDate weekStart = today.with(DayOfWeek.MONDAY);
-    LocalDate weekEnd = today.with(DayOfWeek.SUNDAY);
-    BigDecimal weekHours =
-        timeLogRepository.sumHoursByEmployeeAndDateRange(employeeId, weekStart, weekEnd);
-    if (weekHours == null) weekHours = BigDecimal.ZERO;
-
+    // Efficiency rate (weekly hours / 40 hours * 100)
     BigDecimal expectedWeekHours = new BigDecimal("40.0");
     BigDecimal efficiencyRate = BigDecimal.ZERO;
     if (weekHours.compareTo(BigDecimal.ZERO) > 0) {
@@ -137,7 +193,7 @@ public class EmployeeDashboardController {
             targetHours,
             completedThisMonth,
             efficiencyRate,
-            employee.getName(),
+            counters.getEmployeeName(),
             greeting);
 
     return ResponseEntity.ok(summary);
@@ -148,71 +204,38 @@ public class EmployeeDashboardController {
   public ResponseEntity<List<AssignedJobDTO>> getAssignedJobs(
       @RequestParam(required = false) String status,
       @RequestParam(required = false, defaultValue = "false") Boolean includeCompleted,
-      Authentication authentication) {
-
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
-    // Fetch appointments
-    List<Appointment> appointments;
+      @CurrentUser Long employeeId) {
+    // One query: appointment fields, customer name and logged hours per job
+    List<AssignedJobRow> rows;
     if (status != null) {
-      appointments =
-          appointmentRepository.findByAssignedUser_IdAndStatusOrderByDateAscTimeAsc(
-              employeeId, status);
+      rows = appointmentRepository.findAssignedJobRows(employeeId, List.of(status));
     } else if (!includeCompleted) {
-      appointments =
-          appointmentRepository.findByAssignedUser_IdAndStatusInOrderByDateAscTimeAsc(
+      rows =
+          appointmentRepository.findAssignedJobRows(
               employeeId, Arrays.asList("IN_PROGRESS", "APPROVED", "PENDING"));
     } else {
-      appointments = appointmentRepository.findByAssignedUser_IdOrderByDateAscTimeAsc(employeeId);
+      rows = appointmentRepository.findAllAssignedJobRows(employeeId);
     }
 
     // Map to DTOs
-    List<AssignedJobDTO> assignedJobs = new ArrayList<>();
-    for (Appointment appointment : appointments) {
-      // Calculate logged hours
-      BigDecimal loggedHours =
-          timeLogRepository.sumHoursByEmployeeAndAppointment(employeeId, appointment.getId());
-      if (loggedHours == null) loggedHours = BigDecimal.ZERO;
-
-      // Get progress from appointment or calculate
-      Integer progress = appointment.getProgress();
-      if (progress == null || progress == 0) {
-        // Calculate from hours if not set
-        if (appointment.getEstimatedHours() != null
-            && appointment.getEstimatedHours().compareTo(BigDecimal.ZERO) > 0) {
-          progress =
-              loggedHours
-                  .divide(appointment.getEstimatedHours(), 4, RoundingMode.HALF_UP)
-                  .multiply(new BigDecimal("100"))
-                  .min(new BigDecimal("100"))
-                  .intValue();
-        } else {
-          progress = 0;
-        }
-      }
-
-      // If completed, progress should be 100
-      if ("COMPLETED".equals(appointment.getStatus())) {
-        progress = 100;
-      }
-
-      // Build DTO
+    List<AssignedJobDTO> assignedJobs = new ArrayList<>(rows.size());
+    for (AssignedJobRow row : rows) {
       AssignedJobDTO dto = new AssignedJobDTO();
-      dto.setId(appointment.getId());
-      dto.setType(appointment.getService());
-      dto.setCustomer(appointment.getUser().getName());
-      dto.setCustomerId(appointment.getUserId());
-      dto.setVehicle(appointment.getVehicle());
-      dto.setProgress(progress);
-      dto.setStatus(appointment.getStatus());
-      dto.setEstimatedHours(appointment.getEstimatedHours());
-      dto.setLoggedHours(loggedHours);
-      dto.setDueDate(appointment.getDueDate());
-      dto.setAppointmentDate(appointment.getDate());
-      dto.setAppointmentTime(appointment.getTime().toString());
-      dto.setAppointmentId(appointment.getId());
-      dto.setDescription(appointment.getNotes());
-      dto.setUpdatedAt(appointment.getUpdatedAt());
+      dto.setId(row.id());
+      dto.setType(row.service());
+      dto.setCustomer(row.customerName());
+      dto.setCustomerId(row.customerId());
+      dto.setVehicle(row.vehicle());
+      dto.setProgress(row.effectiveProgress());
+      dto.setStatus(row.status());
+      dto.setEstimatedHours(row.estimatedHours());
+      dto.setLoggedHours(row.loggedHours());
+      dto.setDueDate(row.dueDate());
+      dto.setAppointmentDate(row.date());
+      dto.setAppointmentTime(row.time().toString());
+      dto.setAppointmentId(row.id());
+      dto.setDescription(row.notes());
+      dto.setUpdatedAt(row.updatedAt());
 
       assignedJobs.add(dto);
     }
@@ -223,8 +246,7 @@ public class EmployeeDashboardController {
   // 3. GET /api/employee/dashboard/today-appointments - Get today's appointments
   @GetMapping("/today-appointments")
   public ResponseEntity<List<TodayAppointmentDTO>> getTodayAppointments(
-      Authentication authentication) {
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
+      @CurrentUser Long employeeId) {
     LocalDate today = LocalDate.now();
 
     // Fetch today's appointments
@@ -256,122 +278,70 @@ public class EmployeeDashboardController {
   @GetMapping("/weekly-workload")
   public ResponseEntity<List<WeeklyWorkloadDTO>> getWeeklyWorkload(
       @RequestParam(required = false, defaultValue = "0") Integer weekOffset,
-      Authentication authentication) {
-
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
+      @CurrentUser Long employeeId) {
     // Calculate week range
     LocalDate today = LocalDate.now();
     LocalDate weekStart = today.with(DayOfWeek.MONDAY).plusWeeks(weekOffset);
     LocalDate weekEnd = weekStart.plusDays(6);
 
-    // Fetch time logs
-    List<TimeLog> timeLogs =
-        timeLogRepository.findByEmployee_IdAndDateBetweenOrderByDateAsc(
-            employeeId, weekStart, weekEnd);
-
-    // Group by date and sum hours
-    Map<LocalDate, BigDecimal> hoursByDate =
-        timeLogs.stream()
-            .collect(
-                Collectors.groupingBy(
-                    TimeLog::getDate,
-                    Collectors.reducing(BigDecimal.ZERO, TimeLog::getHours, BigDecimal::add)));
+    // Hours per day, summed by the database
+    Map<LocalDate, BigDecimal> hoursByDate = hoursByDate(employeeId, weekStart, weekEnd);
+    List<WeeklyWorkloadDTO> workload = weekDays(weekStart, hoursByDate);
 
-    // Build result for all 7 days
-    List<WeeklyWorkloadDTO> workload = new ArrayList<>();
-    String[] dayNames = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    return ResponseEntity.ok(workload);
+  }
 
-    for (int i = 0; i < 7; i++) {
-      LocalDate date = weekStart.plusDays(i);
-      BigDecimal hours = hoursByDate.getOrDefault(date, BigDecimal.ZERO);
+  // 4b. GET /api/employee/dashboard/weekly-workload/range - Several weeks for trend charts
+  @GetMapping("/weekly-workload/range")
+  public ResponseEntity<?> getWeeklyWorkloadRange(
+      @RequestParam(required = false, defaultValue = "12") Integer weeks,
+      @RequestParam(required = false, defaultValue = "0") Integer endWeekOffset,
+      @CurrentUser Long employeeId) {
+    if (weeks < 1 || weeks > MAX_WORKLOAD_WEEKS) {
+      return ResponseEntity.badRequest().body("weeks must be between 1 and " + MAX_WORKLOAD_WEEKS);
+    }
 
-      WeeklyWorkloadDTO dto =
-          new WeeklyWorkloadDTO(dayNames[i], date, hours, date.getDayOfWeek().getValue());
-      workload.add(dto);
+    // Oldest week first, ending with the week at endWeekOffset
+    LocalDate lastWeekStart = LocalDate.now().with(DayOfWeek.MONDAY).plusWeeks(endWeekOffset);
+    LocalDate firstWeekStart = lastWeekStart.minusWeeks(weeks - 1L);
+    Map<LocalDate, BigDecimal> hoursByDate =
+        hoursByDate(employeeId, firstWeekStart, lastWeekStart.plusDays(6));
+
+    List<WorkloadWeekDTO> result = new ArrayList<>(weeks);
+    for (int w = 0; w < weeks; w++) {
+      LocalDate weekStart = firstWeekStart.plusWeeks(w);
+      List<WeeklyWorkloadDTO> days = weekDays(weekStart, hoursByDate);
+      BigDecimal total =
+          days.stream().map(WeeklyWorkloadDTO::getHours).reduce(BigDecimal.ZERO, BigDecimal::add);
+      result.add(new WorkloadWeekDTO(weekStart, weekStart.plusDays(6), total, days));
     }
 
-    return ResponseEntity.ok(workload);
+    return ResponseEntity.ok(result);
   }
 
   // 5. GET /api/employee/dashboard/task-distribution - Get task distribution pie chart
   @GetMapping("/task-distribution")
   public ResponseEntity<List<TaskDistributionDTO>> getTaskDistribution(
       @RequestParam(required = false, defaultValue = "month") String period,
-      Authentication authentication) {
-
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
+      @CurrentUser Long employeeId) {
+    List<ServiceCountRow> counts =
+        taskDistribution.countByService(employeeId, period, LocalDate.now());
+    long total = counts.stream().mapToLong(ServiceCountRow::count).sum();
+    logger.debug(
+        "Task distribution for employee {} ({}): {} appointments over {} services",
+        employeeId,
+        period,
+        total,
+        counts.size());
 
-    // Calculate date range
-    LocalDate today = LocalDate.now();
-    LocalDate startDate;
-    LocalDate endDate;
-
-    switch (period.toLowerCase()) {
-      case "week":
-        startDate = today.with(DayOfWeek.MONDAY);
-        endDate = today.with(DayOfWeek.SUNDAY);
-        break;
-      case "year":
-        startDate = today.withDayOfYear(1);
-        endDate = today.withDayOfYear(today.lengthOfYear());
-        break;
-      case "month":
-      default:
-        startDate = today.withDayOfMonth(1);
-        endDate = today.withDayOfMonth(today.lengthOfMonth());
-        break;
-    }
-
-    // DEBUG: Log date range and employee ID
-    logger.info("🔍 Task Distribution Debug:");
-    logger.info("   Employee ID: {}", employeeId);
-    logger.info("   Start Date: {}", startDate);
-    logger.info("   End Date: {}", endDate);
-    logger.info("   Period: {}", period);
-
-    // Fetch appointments in range
-    List<Appointment> appointments =
-        appointmentRepository.findByAssignedUser_IdAndDateBetween(employeeId, startDate, endDate);
-
-    // DEBUG: Log results
-    logger.info("   Appointments Found: {}", appointments.size());
-    if (!appointments.isEmpty()) {
-      logger.info("   Sample appointments:");
-      appointments.stream()
-          .limit(3)
-          .forEach(a -> logger.info("      - {} on {}", a.getService(), a.getDate()));
-    }
-
-    // Group by service and count
-    Map<String, Long> countByService =
-        appointments.stream()
-            .collect(Collectors.groupingBy(Appointment::getService, Collectors.counting()));
-
-    // Calculate total
-    long total = appointments.size();
-
-    // Define colors (matching frontend)
-    Map<String, String> colorMap = new HashMap<>();
-    colorMap.put("Oil Change", "#3b82f6");
-    colorMap.put("Brake Service", "#10b981");
-    colorMap.put("Tire Rotation", "#f59e0b");
-    colorMap.put("Inspection", "#ef4444");
-    colorMap.put("Custom Project", "#8b5cf6");
-    colorMap.put("AC Service", "#06b6d4");
-    String defaultColor = "#6b7280";
-
-    // Build DTOs
     List<TaskDistributionDTO> distribution =
-        countByService.entrySet().stream()
+        counts.stream()
             .map(
-                entry -> {
-                  String taskType = entry.getKey();
-                  Long count = entry.getValue();
-                  Integer percentage = total > 0 ? (int) Math.round(count * 100.0 / total) : 0;
-
+                row -> {
+                  Integer percentage =
+                      total > 0 ? (int) Math.round(row.count() * 100.0 / total) : 0;
                   return new TaskDistributionDTO(
-                      taskType, percentage, colorMap.getOrDefault(taskType, defaultColor));
+                      row.service(), percentage, ServiceTypeColors.colorFor(row.service()));
                 })
             .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
             .collect(Collectors.toList());
@@ -384,11 +354,9 @@ public class EmployeeDashboardController {
   public ResponseEntity<?> updateJobStatus(
       @PathVariable Long jobId,
       @Valid @RequestBody UpdateJobStatusRequestDTO request,
-      Authentication authentication) {
+      @CurrentUser Long employeeId) {
 
     try {
-      Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
       // Fetch appointment
       Appointment appointment =
           appointmentRepository
@@ -402,22 +370,23 @@ public class EmployeeDashboardController {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You are not assigned to this job");
       }
 
-      // Validate and update status
+      // Validate status; it is saved last, through the booking path
+      String status = appointment.getStatus();
       if (request.getStatus() != null) {
         if (!Arrays.asList("PENDING", "IN_PROGRESS", "COMPLETED", "CANCELLED")
             .contains(request.getStatus())) {
           return ResponseEntity.badRequest().body("Invalid status");
         }
-        appointment.setStatus(request.getStatus());
+        status = request.getStatus();
 
         // If completed, set progress to 100
-        if ("COMPLETED".equals(request.getStatus())) {
+        if ("COMPLETED".equals(status)) {
           appointment.setProgress(100);
         }
       }
 
       // Update progress if provided and not completed
-      if (request.getProgress() != null && !"COMPLETED".equals(appointment.getStatus())) {
+      if (request.getProgress() != null && !"COMPLETED".equals(status)) {
         if (request.getProgress() < 0 || request.getProgress() > 100) {
           return ResponseEntity.badRequest().body("Progress must be between 0 and 100");
         }
@@ -439,8 +408,8 @@ public class EmployeeDashboardController {
         appointment.setNotes(existingNotes + newNote);
       }
 
-      // Save
-      Appointment updated = appointmentRepository.save(appointment);
+      // Save (a cancelled job being reopened claims its time again)
+      Appointment updated = appointmentService.saveStatus(appointment, status);
 
       // Create and save notification for customer
       String notificationTitle = "Service Update";
@@ -461,6 +430,7 @@ public class EmployeeDashboardController {
 
       notificationRepository.save(notification);
       logger.info("💾 Notification saved for customer ID: {}", updated.getUserId());
+      dataVersions.bump(updated.getUserId(), employeeId);
 
       // Send real-time WebSocket update to customer
       Map<String, Object> progressUpdate = new HashMap<>();
@@ -498,6 +468,8 @@ public class EmployeeDashboardController {
 
     } catch (ResourceNotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    } catch (ConflictException | ServiceBusyException e) {
+      throw e; // 409 / 503 from GlobalExceptionHandler
     } catch (Exception e) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
           .body("Error updating job status: " + e.getMessage());
@@ -506,11 +478,9 @@ public class EmployeeDashboardController {
 
   // 7. POST /api/employee/jobs/{jobId}/start - Start a job
   @PostMapping("/jobs/{jobId}/start")
-  public ResponseEntity<?> startJob(@PathVariable Long jobId, Authentication authentication) {
+  public ResponseEntity<?> startJob(@PathVariable Long jobId, @CurrentUser Long employeeId) {
 
     try {
-      Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
       // Fetch appointment
       Appointment appointment =
           appointmentRepository
@@ -533,11 +503,9 @@ public class EmployeeDashboardController {
         return ResponseEntity.badRequest().body("Job is already completed");
       }
 
-      // Update status to IN_PROGRESS
-      appointment.setStatus("IN_PROGRESS");
-
-      // Save
-      Appointment updated = appointmentRepository.save(appointment);
+      // Update status to IN_PROGRESS (a cancelled job being restarted claims its time again)
+      Appointment updated = appointmentService.saveStatus(appointment, "IN_PROGRESS");
+      dataVersions.bump(updated.getUserId(), employeeId);
 
       // Build response
       JobActionResponseDTO response = new JobActionResponseDTO();
@@ -550,12 +518,64 @@ public class EmployeeDashboardController {
 
     } catch (ResourceNotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    } catch (ConflictException | ServiceBusyException e) {
+      throw e; // 409 / 503 from GlobalExceptionHandler
     } catch (Exception e) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
           .body("Error starting job: " + e.getMessage());
     }
   }
 
+  // One grouped query for the whole range; days without logs are absent from the map
+  private Map<LocalDate, BigDecimal> hoursByDate(
+      Long employeeId, LocalDate startDate, LocalDate endDate) {
+    Map<LocalDate, BigDecimal> hoursByDate = new HashMap<>();
+    for (DailyHoursRow row : timeLogRepository.sumHoursByDate(employeeId, startDate, endDate)) {
+      hoursByDate.put(row.date(), row.hours());
+    }
+    return hoursByDate;
+  }
+
+  // Build result for all 7 days of the week starting at weekStart
+  private static List<WeeklyWorkloadDTO> weekDays(
+      LocalDate weekStart, Map<LocalDate, BigDecimal> hoursByDate) {
+    List<WeeklyWorkloadDTO> workload = new ArrayList<>(7);
+    for (int i = 0; i < 7; i++) {
+      LocalDate date = weekStart.plusDays(i);
+      BigDecimal hours = hoursByDate.getOrDefault(date, BigDecimal.ZERO);
+      workload.add(
+          new WeeklyWorkloadDTO(DAY_NAMES[i], date, hours, date.getDayOfWeek().getValue()));
+    }
+    return workload;
+  }
+
+  private <T> Future<T> submitWidget(Supplier<ResponseEntity<T>> widget) {
+    return dashboardExecutor.submit(() -> widget.get().getBody());
+  }
+
+  private <T> T awaitWidget(
+      String name, Future<T> widget, long deadline, Long employeeId, Map<String, String> errors) {
+    try {
+      return widget.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      widget.cancel(true);
+      logger.warn("Dashboard widget {} timed out for employee {}", name, employeeId);
+      errors.put(name, "timeout");
+    } catch (ExecutionException e) {
+      logger.warn("Dashboard widget {} failed for employee {}", name, employeeId, e.getCause());
+      errors.put(name, "failed");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      widget.cancel(true);
+      errors.put(name, "failed");
+    }
+    return null;
+  }
+
+  private static Integer toInt(Number value) {
+    return value == null ? 0 : value.intValue();
+  }
+
   // Helper method to create notification message
   private String createNotificationMessage(
       Appointment appointment, UpdateJobStatusRequestDTO request) {
@@ -4,6 +4,7 @@ import com.autocare360.dto.ConversationDTO;
 import com.autocare360.dto.MessageDTO;
 import com.autocare360.dto.SendMessageRequest;
 import com.autocare360.dto.UserSearchDTO;
+import com.autocare360.security.CurrentUser;
 import com.autocare360.service.MessageService;
 import com.autocare360.util.AuthUtil;
 import java.security.Principal;
@@ -31,11 +32,9 @@ public class MessageController {
    */
   @PostMapping
   public ResponseEntity<MessageDTO> sendMessage(
-      @RequestBody SendMessageRequest request, Authentication authentication) {
+      @RequestBody SendMessageRequest request, @CurrentUser Long senderId) {
 
     log.info("REST: Sending message to user {}", request.getReceiverId());
-
-    Long senderId = authUtil.getUserIdFromAuth(authentication);
     MessageDTO message =
         messageService.sendMessage(
             senderId,
@@ -59,11 +58,9 @@ public class MessageController {
   /** Get conversation with another user */
   @GetMapping("/conversation/{otherUserId}")
   public ResponseEntity<List<MessageDTO>> getConversation(
-      @PathVariable Long otherUserId, Authentication authentication) {
+      @PathVariable Long otherUserId, @CurrentUser Long userId) {
 
     log.info("Getting conversation with user {}", otherUserId);
-
-    Long userId = authUtil.getUserIdFromAuth(authentication);
     List<MessageDTO> messages = messageService.getConversation(userId, otherUserId);
 
     return ResponseEntity.ok(messages);
@@ -71,10 +68,8 @@ public class MessageController {
 
   /** Get all conversations for current user */
   @GetMapping("/conversations")
-  public ResponseEntity<List<ConversationDTO>> getConversations(Authentication authentication) {
+  public ResponseEntity<List<ConversationDTO>> getConversations(@CurrentUser Long userId) {
     log.info("Getting all conversations");
-
-    Long userId = authUtil.getUserIdFromAuth(authentication);
     List<ConversationDTO> conversations = messageService.getConversations(userId);
 
     return ResponseEntity.ok(conversations);
@@ -83,11 +78,9 @@ public class MessageController {
   /** Mark messages as read */
   @PutMapping("/read/{senderId}")
   public ResponseEntity<Void> markAsRead(
-      @PathVariable Long senderId, Authentication authentication) {
+      @PathVariable Long senderId, @CurrentUser Long receiverId) {
 
     log.info("Marking messages from user {} as read", senderId);
-
-    Long receiverId = authUtil.getUserIdFromAuth(authentication);
     messageService.markMessagesAsRead(receiverId, senderId);
 
     return ResponseEntity.ok().build();
@@ -95,10 +88,8 @@ public class MessageController {
 
   /** Get unread message count */
   @GetMapping("/unread/count")
-  public ResponseEntity<Long> getUnreadCount(Authentication authentication) {
+  public ResponseEntity<Long> getUnreadCount(@CurrentUser Long userId) {
     log.info("Getting unread message count");
-
-    Long userId = authUtil.getUserIdFromAuth(authentication);
     Long count = messageService.getUnreadCount(userId);
 
     return ResponseEntity.ok(count);
@@ -139,10 +130,8 @@ public class MessageController {
    * complete chat history including broadcasts they sent and all employee replies
    */
   @GetMapping("/customer/all")
-  public ResponseEntity<List<MessageDTO>> getAllCustomerMessages(Authentication authentication) {
+  public ResponseEntity<List<MessageDTO>> getAllCustomerMessages(@CurrentUser Long customerId) {
     log.info("Getting all customer messages");
-
-    Long customerId = authUtil.getUserIdFromAuth(authentication);
     List<MessageDTO> messages = messageService.getAllCustomerMessages(customerId);
 
     return ResponseEntity.ok(messages);
@@ -154,12 +143,9 @@ public class MessageController {
    */
   @GetMapping("/employee/customer/{customerId}/all")
   public ResponseEntity<List<MessageDTO>> getAllMessagesForCustomerAsEmployee(
-      @PathVariable Long customerId, Authentication authentication) {
+      @PathVariable Long customerId) {
     log.info("Employee requesting all messages for customer {}", customerId);
 
-    // Optional: ensure the requester exists; role checks can be added if needed
-    authUtil.getUserFromAuth(authentication);
-
     List<MessageDTO> messages = messageService.getAllCustomerMessages(customerId);
     return ResponseEntity.ok(messages);
   }
@@ -1,15 +1,14 @@
 package com.autocare360.controller;
 
 import com.autocare360.dto.*;
+import com.autocare360.security.CurrentUser;
 import com.autocare360.service.NotificationService;
-import com.autocare360.util.AuthUtil;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,13 +18,10 @@ import org.springframework.web.bind.annotation.*;
 public class NotificationController {
 
   private final NotificationService notificationService;
-  private final AuthUtil authUtil;
 
   /** Get all notifications for the authenticated user */
   @GetMapping
-  public ResponseEntity<List<NotificationResponse>> getMyNotifications(
-      Authentication authentication) {
-    Long userId = authUtil.getUserIdFromAuth(authentication);
+  public ResponseEntity<List<NotificationResponse>> getMyNotifications(@CurrentUser Long userId) {
     List<NotificationResponse> notifications = notificationService.getUserNotifications(userId);
     return ResponseEntity.ok(notifications);
   }
@@ -33,16 +29,14 @@ public class NotificationController {
   /** Get unread notifications */
   @GetMapping("/unread")
   public ResponseEntity<List<NotificationResponse>> getUnreadNotifications(
-      Authentication authentication) {
-    Long userId = authUtil.getUserIdFromAuth(authentication);
+      @CurrentUser Long userId) {
     List<NotificationResponse> notifications = notificationService.getUnreadNotifications(userId);
     return ResponseEntity.ok(notifications);
   }
 
   /** Get unread notification count */
   @GetMapping("/unread/count")
-  public ResponseEntity<Map<String, Long>> getUnreadCount(Authentication authentication) {
-    Long userId = authUtil.getUserIdFromAuth(authentication);
+  public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUser Long userId) {
     Long count = notificationService.getUnreadCount(userId);
 
     Map<String, Long> response = new HashMap<>();
@@ -54,8 +48,7 @@ public class NotificationController {
   /** Mark a notification as read */
   @PutMapping("/{id}/read")
   public ResponseEntity<Map<String, String>> markAsRead(
-      @PathVariable Long id, Authentication authentication) {
-    Long userId = authUtil.getUserIdFromAuth(authentication);
+      @PathVariable Long id, @CurrentUser Long userId) {
     notificationService.markAsRead(id, userId);
 
     Map<String, String> response = new HashMap<>();
@@ -66,8 +59,7 @@ public class NotificationController {
 
   /** Mark all notifications as read */
   @PutMapping("/read-all")
-  public ResponseEntity<Map<String, String>> markAllAsRead(Authentication authentication) {
-    Long userId = authUtil.getUserIdFromAuth(authentication);
+  public ResponseEntity<Map<String, String>> markAllAsRead(@CurrentUser Long userId) {
     notificationService.markAllAsRead(userId);
 
     Map<String, String> response = new HashMap<>();
@@ -79,8 +71,7 @@ public class NotificationController {
   /** Delete a notification */
   @DeleteMapping("/{id}")
   public ResponseEntity<Map<String, String>> deleteNotification(
-      @PathVariable Long id, Authentication authentication) {
-    Long userId = authUtil.getUserIdFromAuth(authentication);
+      @PathVariable Long id, @CurrentUser Long userId) {
     notificationService.deleteNotification(id, userId);
 
     Map<String, String> response = new HashMap<>();
@@ -91,12 +82,8 @@ public class NotificationController {
 
   /** Get user notification preferences */
   @GetMapping("/preferences")
-  public ResponseEntity<NotificationPreferenceResponse> getPreferences(
-      Authentication authentication) {
-    log.info(
-        "GET /api/notifications/preferences - Authentication: {}",
-        authentication != null ? authentication.getName() : "null");
-    Long userId = authUtil.getUserIdFromAuth(authentication);
+  public ResponseEntity<NotificationPreferenceResponse> getPreferences(@CurrentUser Long userId) {
+    log.info("GET /api/notifications/preferences");
     log.info("Fetching preferences for user ID: {}", userId);
     NotificationPreferenceResponse preferences = notificationService.getUserPreferences(userId);
     return ResponseEntity.ok(preferences);
@@ -105,12 +92,9 @@ public class NotificationController {
   /** Update user notification preferences */
   @PutMapping("/preferences")
   public ResponseEntity<NotificationPreferenceResponse> updatePreferences(
-      @RequestBody NotificationPreferenceRequest request, Authentication authentication) {
-    log.info(
-        "PUT /api/notifications/preferences - Authentication: {}",
-        authentication != null ? authentication.getName() : "null");
+      @RequestBody NotificationPreferenceRequest request, @CurrentUser Long userId) {
+    log.info("PUT /api/notifications/preferences");
     log.info("Request body: {}", request);
-    Long userId = authUtil.getUserIdFromAuth(authentication);
     log.info("Updating preferences for user ID: {}", userId);
     NotificationPreferenceResponse preferences =
         notificationService.updateUserPreferences(userId, request);
@@ -119,9 +103,7 @@ public class NotificationController {
 
   /** Test endpoint - Send a test notification (for development/testing) */
   @PostMapping("/test")
-  public ResponseEntity<Map<String, String>> sendTestNotification(Authentication authentication) {
-    Long userId = authUtil.getUserIdFromAuth(authentication);
-
+  public ResponseEntity<Map<String, String>> sendTestNotification(@CurrentUser Long userId) {
     Map<String, Object> data = new HashMap<>();
     data.put("testData", "This is a test notification");
 
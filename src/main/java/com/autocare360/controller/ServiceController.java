@@ -2,24 +2,27 @@ package com.autocare360.controller;
 
 import com.autocare360.dto.ServiceRecordDTO;
 import com.autocare360.entity.ServiceRecord;
-import com.autocare360.security.JwtService;
+import com.autocare360.security.AuthenticatedUser;
+import com.autocare360.security.CurrentUser;
 import com.autocare360.service.ServiceRecordService;
 import com.autocare360.service.VehicleService;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/services")
 @RequiredArgsConstructor
+@Slf4j
 public class ServiceController {
 
   private final ServiceRecordService serviceService;
   private final VehicleService vehicleService;
-  private final JwtService jwtService;
 
   private ServiceRecordDTO mapToDTO(ServiceRecord s) {
     return new ServiceRecordDTO(
@@ -39,28 +42,20 @@ public class ServiceController {
 
   @GetMapping
   public ResponseEntity<?> list(
-      @RequestParam(required = false) String status,
-      @RequestHeader(value = "Authorization", required = false) String auth) {
+      @RequestParam(required = false) String status, @CurrentUser AuthenticatedUser user) {
 
-    boolean isAdmin = jwtService.hasRole(auth, "ADMIN");
-    System.out.println("Is Admin: " + isAdmin);
-    System.out.println("Status param: " + status);
+    boolean isAdmin = user.hasRole("ADMIN");
 
     List<ServiceRecord> services;
 
     if (isAdmin) {
-      System.out.println("User is ADMIN — fetching all services...");
       services = serviceService.listAll();
-      System.out.println("Admin - fetched all services: " + services.size());
     } else if (status != null) {
-      System.out.println("Non-admin user with status filter: " + status);
       services = serviceService.listByStatus(status);
-      System.out.println("Non-admin - fetched by status (" + status + "): " + services.size());
     } else {
-      System.out.println("Non-admin user with NO status filter — fetching all services...");
       services = serviceService.listAll();
-      System.out.println("Non-admin - fetched all services (no filter): " + services.size());
     }
+    log.debug("Listed {} services (admin={}, status={})", services.size(), isAdmin, status);
 
     List<ServiceRecordDTO> dtos = services.stream().map(this::mapToDTO).toList();
 
@@ -148,14 +143,9 @@ public class ServiceController {
   }
 
   @GetMapping("/summary")
-  public ResponseEntity<?> getServiceSummary(
-      @RequestHeader(value = "Authorization", required = false) String auth) {
-    // Debug: Log if admin
-    boolean isAdmin = jwtService.hasRole(auth, "ADMIN");
-    System.out.println("Is Admin: " + isAdmin);
-
+  public ResponseEntity<?> getServiceSummary() {
     List<ServiceRecord> all = serviceService.listAll();
-    System.out.println("Total services found: " + all.size());
+    log.debug("Summarising {} services", all.size());
 
     double avgPrice =
         all.stream()
@@ -184,14 +174,8 @@ public class ServiceController {
   }
 
   @DeleteMapping("/{id}")
-  public ResponseEntity<Void> delete(
-      @PathVariable Long id,
-      @RequestHeader(value = "Authorization", required = false) String auth) {
-    // Check if the user is admin
-    if (!jwtService.hasRole(auth, "ADMIN")) {
-      return ResponseEntity.status(HttpStatus.FORBIDDEN).build(); // 403
-    }
-
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Void> delete(@PathVariable Long id) {
     boolean deleted = serviceService.delete(id); // implement delete in service
     if (!deleted) {
       return ResponseEntity.notFound().build(); // 404 if not found
@@ -1,10 +1,15 @@
 package com.autocare360.controller;
 
 import com.autocare360.dto.ActiveProjectDTO;
+import com.autocare360.dto.ActiveTimer;
+import com.autocare360.dto.BulkTimeLogRequestDTO;
 import com.autocare360.dto.CreateTimeLogRequestDTO;
 import com.autocare360.dto.StartTimerRequestDTO;
 import com.autocare360.dto.StopTimerRequestDTO;
+import com.autocare360.dto.TimeLogCursor;
+import com.autocare360.dto.TimeLogPageDTO;
 import com.autocare360.dto.TimeLogResponseDTO;
+import com.autocare360.dto.TimeLogRow;
 import com.autocare360.dto.TimeLogSummaryDTO;
 import com.autocare360.dto.TimerResponseDTO;
 import com.autocare360.dto.UpdateTimeLogRequestDTO;
@@ -12,12 +17,16 @@ import com.autocare360.entity.Appointment;
 import com.autocare360.entity.Employee;
 import com.autocare360.entity.TimeLog;
 import com.autocare360.entity.Timer;
+import com.autocare360.exception.ConflictException;
 import com.autocare360.exception.ResourceNotFoundException;
 import com.autocare360.repo.AppointmentRepository;
 import com.autocare360.repo.EmployeeRepository;
 import com.autocare360.repo.TimeLogRepository;
 import com.autocare360.repo.TimerRepository;
-import com.autocare360.util.AuthUtil;
+import com.autocare360.security.CurrentUser;
+import com.autocare360.service.ActiveTimerRegistry;
+import com.autocare360.service.EmployeeHoursCounterService;
+import com.autocare360.service.TimeLogService;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -28,9 +37,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -47,6 +56,8 @@ import org.springframework.web.bind.annotation.RestController;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TimeLogController {
 
+  private static final int MAX_PAGE_SIZE = 200;
+
   @Autowired private TimeLogRepository timeLogRepository;
 
   @Autowired private EmployeeRepository employeeRepository;
@@ -55,39 +66,73 @@ public class TimeLogController {
 
   @Autowired private TimerRepository timerRepository;
 
-  @Autowired private AuthUtil authUtil;
+  @Autowired private TimeLogService timeLogService;
+
+  @Autowired private EmployeeHoursCounterService hoursCounters;
+
+  @Autowired private ActiveTimerRegistry activeTimers;
 
   // 1. GET /api/time-logs - Get all time logs for employee
   @GetMapping
   public ResponseEntity<List<TimeLogResponseDTO>> getTimeLogs(
       @RequestParam(required = false) LocalDate startDate,
       @RequestParam(required = false) LocalDate endDate,
-      Authentication authentication) {
-
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
-    List<TimeLog> timeLogs;
-
+      @CurrentUser Long employeeId) {
+    // Names come joined in the same statement; prefer /page for full history
+    List<TimeLogRow> rows;
     if (startDate != null && endDate != null) {
-      timeLogs =
-          timeLogRepository.findByEmployee_IdAndDateBetweenOrderByDateDescCreatedAtDesc(
-              employeeId, startDate, endDate);
+      rows = timeLogRepository.findRowsBetween(employeeId, startDate, endDate);
     } else {
-      timeLogs = timeLogRepository.findByEmployee_IdOrderByDateDescCreatedAtDesc(employeeId);
+      rows = timeLogRepository.findRows(employeeId, Limit.unlimited());
     }
 
     List<TimeLogResponseDTO> response =
-        timeLogs.stream().map(this::mapToResponseDTO).collect(Collectors.toList());
+        rows.stream().map(this::mapToResponseDTO).collect(Collectors.toList());
 
     return ResponseEntity.ok(response);
   }
 
+  // 1b. GET /api/time-logs/page - Newest first, one keyset page at a time
+  @GetMapping("/page")
+  public ResponseEntity<?> getTimeLogPage(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false, defaultValue = "50") Integer limit,
+      @CurrentUser Long employeeId) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    // One extra row tells whether another page follows
+    Limit fetch = Limit.of(limit + 1);
+    List<TimeLogRow> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows = timeLogRepository.findRows(employeeId, fetch);
+    } else {
+      TimeLogCursor after;
+      try {
+        after = TimeLogCursor.decode(cursor);
+      } catch (IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+      }
+      rows =
+          timeLogRepository.findRowsAfter(
+              employeeId, after.date(), after.createdAt(), after.id(), fetch);
+    }
+
+    boolean hasMore = rows.size() > limit;
+    List<TimeLogRow> page = hasMore ? rows.subList(0, limit) : rows;
+    String nextCursor = hasMore ? page.get(page.size() - 1).cursor().encode() : null;
+
+    return ResponseEntity.ok(
+        new TimeLogPageDTO(
+            page.stream().map(this::mapToResponseDTO).collect(Collectors.toList()), nextCursor));
+  }
+
   // 2. POST /api/time-logs - Create new time log
   @PostMapping
   public ResponseEntity<?> createTimeLog(
-      @Valid @RequestBody CreateTimeLogRequestDTO request, Authentication authentication) {
+      @Valid @RequestBody CreateTimeLogRequestDTO request, @CurrentUser Long employeeId) {
     try {
-      Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
       // Validate employee
       Employee employee =
           employeeRepository
@@ -120,12 +165,9 @@ public class TimeLogController {
       timeLog.setDate(request.getDate());
       timeLog.setStatus(request.getStatus() != null ? request.getStatus() : "COMPLETED");
 
-      TimeLog savedTimeLog = timeLogRepository.save(timeLog);
-
-      // Update appointment actual hours
-      updateAppointmentActualHours(appointment, employeeId);
+      TimeLog savedTimeLog = timeLogService.create(timeLog);
 
-      TimeLogResponseDTO response = mapToResponseDTO(savedTimeLog);
+      TimeLogResponseDTO response = responseFor(employeeId, savedTimeLog);
       return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
     } catch (ResourceNotFoundException e) {
@@ -136,15 +178,26 @@ public class TimeLogController {
     }
   }
 
+  // 2b. POST /api/time-logs/bulk - Create many time logs at once (offline sync)
+  @PostMapping("/bulk")
+  public ResponseEntity<?> createTimeLogs(
+      @Valid @RequestBody BulkTimeLogRequestDTO request, @CurrentUser Long employeeId) {
+    try {
+      return ResponseEntity.ok(timeLogService.createAll(employeeId, request.entries()));
+    } catch (ResourceNotFoundException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
   // 3. PUT /api/time-logs/{id} - Update time log
   @PutMapping("/{id}")
   public ResponseEntity<?> updateTimeLog(
       @PathVariable Long id,
       @Valid @RequestBody UpdateTimeLogRequestDTO request,
-      Authentication authentication) {
+      @CurrentUser Long employeeId) {
     try {
-      Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
       TimeLog timeLog =
           timeLogRepository
               .findById(id)
@@ -156,6 +209,10 @@ public class TimeLogController {
             .body("You can only edit your own time logs");
       }
 
+      Long previousAppointmentId = timeLog.getAppointmentId();
+      LocalDate previousDate = timeLog.getDate();
+      BigDecimal previousHours = timeLog.getHours();
+
       // Update fields if provided
       if (request.getAppointmentId() != null) {
         Appointment appointment =
@@ -187,12 +244,10 @@ public class TimeLogController {
         timeLog.setStatus(request.getStatus());
       }
 
-      TimeLog updatedTimeLog = timeLogRepository.save(timeLog);
-
-      // Update appointment actual hours
-      updateAppointmentActualHours(timeLog.getAppointment(), employeeId);
+      TimeLog updatedTimeLog =
+          timeLogService.update(timeLog, previousAppointmentId, previousDate, previousHours);
 
-      TimeLogResponseDTO response = mapToResponseDTO(updatedTimeLog);
+      TimeLogResponseDTO response = responseFor(employeeId, updatedTimeLog);
       return ResponseEntity.ok(response);
 
     } catch (ResourceNotFoundException e) {
@@ -205,10 +260,8 @@ public class TimeLogController {
 
   // 4. DELETE /api/time-logs/{id} - Delete time log
   @DeleteMapping("/{id}")
-  public ResponseEntity<?> deleteTimeLog(@PathVariable Long id, Authentication authentication) {
+  public ResponseEntity<?> deleteTimeLog(@PathVariable Long id, @CurrentUser Long employeeId) {
     try {
-      Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
       TimeLog timeLog =
           timeLogRepository
               .findById(id)
@@ -220,12 +273,7 @@ public class TimeLogController {
             .body("You can only delete your own time logs");
       }
 
-      Appointment appointment = timeLog.getAppointment();
-
-      timeLogRepository.delete(timeLog);
-
-      // Update appointment actual hours
-      updateAppointmentActualHours(appointment, employeeId);
+      timeLogService.delete(timeLog);
 
       return ResponseEntity.noContent().build();
 
@@ -239,23 +287,15 @@ public class TimeLogController {
 
   // 5. GET /api/time-logs/summary - Get statistics
   @GetMapping("/summary")
-  public ResponseEntity<TimeLogSummaryDTO> getTimeLogSummary(Authentication authentication) {
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
+  public ResponseEntity<TimeLogSummaryDTO> getTimeLogSummary(@CurrentUser Long employeeId) {
     LocalDate today = LocalDate.now();
     LocalDate weekStart = today.with(DayOfWeek.MONDAY);
     LocalDate weekEnd = today.with(DayOfWeek.SUNDAY);
 
-    // Calculate total hours today
-    BigDecimal totalHoursToday = timeLogRepository.sumHoursByEmployeeAndDate(employeeId, today);
-
-    // Calculate total hours this week
-    BigDecimal totalHoursWeek =
-        timeLogRepository.sumHoursByEmployeeAndDateRange(employeeId, weekStart, weekEnd);
-
-    // Count total entries
-    Long count = timeLogRepository.countByEmployee_Id(employeeId);
-    Integer totalEntries = count != null ? count.intValue() : 0;
+    // Totals come from the incremental hour counters, no time_logs scan
+    BigDecimal totalHoursToday = hoursCounters.hoursOn(employeeId, today);
+    BigDecimal totalHoursWeek = hoursCounters.hoursBetween(employeeId, weekStart, weekEnd);
+    Integer totalEntries = hoursCounters.entryCount(employeeId);
 
     // Calculate efficiency rate (Actual hours / Expected 40 hours * 100)
     BigDecimal expectedHoursWeek = new BigDecimal("40.0");
@@ -304,45 +344,13 @@ public class TimeLogController {
   // 7. POST /api/time-logs/timer/start - Start timer
   @PostMapping("/timer/start")
   public ResponseEntity<?> startTimer(
-      @Valid @RequestBody StartTimerRequestDTO request, Authentication authentication) {
+      @Valid @RequestBody StartTimerRequestDTO request, @CurrentUser Long employeeId) {
     try {
-      Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
-      // Check if employee already has active timer
-      if (timerRepository.existsByEmployee_IdAndIsActiveTrue(employeeId)) {
-        return ResponseEntity.badRequest().body("You already have an active timer running");
-      }
-
-      Employee employee =
-          employeeRepository
-              .findById(employeeId)
-              .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
-      Appointment appointment =
-          appointmentRepository
-              .findById(request.getAppointmentId())
-              .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
-
-      // Create timer
-      Timer timer = new Timer();
-      timer.setEmployee(employee);
-      timer.setAppointment(appointment);
-      timer.setStartTime(LocalDateTime.now());
-      timer.setIsActive(true);
-
-      Timer savedTimer = timerRepository.save(timer);
-
-      // Build response
-      TimerResponseDTO response = new TimerResponseDTO();
-      response.setTimerId(savedTimer.getId());
-      response.setAppointmentId(savedTimer.getAppointmentId());
-      response.setProjectName(savedTimer.getProjectName());
-      response.setStartTime(savedTimer.getStartTime());
-      response.setElapsedSeconds(0);
-      response.setIsActive(true);
-
-      return ResponseEntity.status(HttpStatus.CREATED).body(response);
+      ActiveTimer timer = activeTimers.start(employeeId, request.getAppointmentId());
+      return ResponseEntity.status(HttpStatus.CREATED).body(timer.toResponse(timer.startTime()));
 
+    } catch (ConflictException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
     } catch (ResourceNotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     } catch (Exception e) {
@@ -354,10 +362,8 @@ public class TimeLogController {
   // 8. POST /api/time-logs/timer/stop - Stop timer
   @PostMapping("/timer/stop")
   public ResponseEntity<?> stopTimer(
-      @Valid @RequestBody StopTimerRequestDTO request, Authentication authentication) {
+      @Valid @RequestBody StopTimerRequestDTO request, @CurrentUser Long employeeId) {
     try {
-      Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
       Timer timer =
           timerRepository
               .findById(request.getTimerId())
@@ -394,19 +400,14 @@ public class TimeLogController {
       timeLog.setDate(LocalDate.now());
       timeLog.setStatus("COMPLETED");
 
-      TimeLog savedTimeLog = timeLogRepository.save(timeLog);
+      // Mark timer as inactive (only if nobody else stopped it first)
+      TimeLog savedTimeLog = timeLogService.createFromTimer(timeLog, timer, now);
 
-      // Mark timer as inactive
-      timer.setIsActive(false);
-      timer.setEndTime(now);
-      timerRepository.save(timer);
-
-      // Update appointment actual hours
-      updateAppointmentActualHours(timer.getAppointment(), employeeId);
-
-      TimeLogResponseDTO response = mapToResponseDTO(savedTimeLog);
+      TimeLogResponseDTO response = responseFor(employeeId, savedTimeLog);
       return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+    } catch (ConflictException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
     } catch (ResourceNotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     } catch (Exception e) {
@@ -415,35 +416,12 @@ public class TimeLogController {
     }
   }
 
-  // 9. GET /api/time-logs/timer/active - Get active timer
+  // 9. GET /api/time-logs/timer/active - Get active timer (served from memory)
   @GetMapping("/timer/active")
-  public ResponseEntity<TimerResponseDTO> getActiveTimer(Authentication authentication) {
-    Long employeeId = authUtil.getUserIdFromAuth(authentication);
-
-    // Find active timer for employee
-    return timerRepository
-        .findByEmployee_IdAndIsActiveTrue(employeeId)
-        .map(
-            timer -> {
-              // Calculate elapsed time
-              LocalDateTime now = LocalDateTime.now();
-              long elapsedSeconds = Duration.between(timer.getStartTime(), now).getSeconds();
-              BigDecimal elapsedHours =
-                  new BigDecimal(elapsedSeconds)
-                      .divide(new BigDecimal("3600"), 2, RoundingMode.HALF_UP);
-
-              // Build response
-              TimerResponseDTO response = new TimerResponseDTO();
-              response.setTimerId(timer.getId());
-              response.setAppointmentId(timer.getAppointmentId());
-              response.setProjectName(timer.getProjectName());
-              response.setStartTime(timer.getStartTime());
-              response.setElapsedSeconds((int) elapsedSeconds);
-              response.setElapsedHours(elapsedHours);
-              response.setIsActive(true);
-
-              return ResponseEntity.ok(response);
-            })
+  public ResponseEntity<TimerResponseDTO> getActiveTimer(@CurrentUser Long employeeId) {
+    return activeTimers
+        .find(employeeId)
+        .map(timer -> ResponseEntity.ok(timer.toResponse(LocalDateTime.now())))
         .orElseGet(
             () -> {
               // No active timer - return empty response
@@ -453,41 +431,30 @@ public class TimeLogController {
             });
   }
 
-  // Helper method to map TimeLog to DTO
-  private TimeLogResponseDTO mapToResponseDTO(TimeLog timeLog) {
+  private TimeLogResponseDTO mapToResponseDTO(TimeLogRow row) {
     TimeLogResponseDTO dto = new TimeLogResponseDTO();
-    dto.setId(timeLog.getId());
-    dto.setDate(timeLog.getDate());
-    dto.setAppointmentId(timeLog.getAppointmentId());
-    dto.setProject(timeLog.getProjectName());
-    dto.setCustomerId(
-        timeLog.getAppointment() != null ? timeLog.getAppointment().getUserId() : null);
-    dto.setCustomer(timeLog.getCustomerName());
-    dto.setHours(timeLog.getHours());
-    dto.setDescription(timeLog.getDescription());
-    dto.setStatus(timeLog.getStatus());
-    dto.setEmployeeId(timeLog.getEmployeeId());
-    dto.setEmployeeName(timeLog.getEmployeeName());
-    dto.setCreatedAt(timeLog.getCreatedAt());
-    dto.setUpdatedAt(timeLog.getUpdatedAt());
+    dto.setId(row.id());
+    dto.setDate(row.date());
+    dto.setAppointmentId(row.appointmentId());
+    dto.setProject(row.projectName());
+    dto.setCustomerId(row.customerId());
+    dto.setCustomer(row.customerName());
+    dto.setHours(row.hours());
+    dto.setDescription(row.description());
+    dto.setStatus(row.status());
+    dto.setEmployeeId(row.employeeId());
+    dto.setEmployeeName(row.employeeName());
+    dto.setCreatedAt(row.createdAt());
+    dto.setUpdatedAt(row.updatedAt());
     return dto;
   }
 
-  // Helper method to update appointment actual hours
-  private void updateAppointmentActualHours(Appointment appointment, Long employeeId) {
-    if (appointment != null) {
-      List<TimeLog> appointmentTimeLogs =
-          timeLogRepository.findByEmployee_IdOrderByDateDescCreatedAtDesc(employeeId).stream()
-              .filter(tl -> tl.getAppointmentId().equals(appointment.getId()))
-              .collect(Collectors.toList());
-
-      BigDecimal totalHours =
-          appointmentTimeLogs.stream()
-              .map(TimeLog::getHours)
-              .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-      appointment.setActualHours(totalHours);
-      appointmentRepository.save(appointment);
-    }
+  // Write responses are read back as one row after the service commits, never from the saved
+  // entity's lazy associations
+  private TimeLogResponseDTO responseFor(Long employeeId, TimeLog saved) {
+    return timeLogRepository
+        .findRow(employeeId, saved.getId())
+        .map(this::mapToResponseDTO)
+        .orElseThrow(() -> new ResourceNotFoundException("Time log not found"));
   }
 }
@@ -3,7 +3,8 @@ package com.autocare360.controller;
 import com.autocare360.dto.VehicleCreateDTO;
 import com.autocare360.dto.VehicleDTO;
 import com.autocare360.entity.Vehicle;
-import com.autocare360.security.JwtService;
+import com.autocare360.security.AuthenticatedUser;
+import com.autocare360.security.CurrentUser;
 import com.autocare360.service.VehicleService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -11,6 +12,7 @@ import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,7 +20,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,25 +30,6 @@ import org.springframework.web.bind.annotation.RestController;
 public class VehicleController {
 
   private final VehicleService vehicleService;
-  private final JwtService jwtService;
-
-  private Long extractUserId(String authorization) {
-    if (authorization == null || !authorization.startsWith("Bearer ")) {
-      System.out.println("Missing or invalid Authorization header");
-      return null;
-    }
-    String token = authorization.substring(7);
-
-    // Check validity
-    if (!jwtService.isTokenValid(token)) {
-      System.out.println("Invalid token");
-      return null;
-    }
-
-    String subject = jwtService.extractSubject(token);
-    System.out.println("Extracted subject (userId): " + subject);
-    return Long.valueOf(subject);
-  }
 
   private VehicleDTO mapToDTO(Vehicle v) {
     return new VehicleDTO(
@@ -61,14 +43,9 @@ public class VehicleController {
   }
 
   @GetMapping
-  public ResponseEntity<?> list(
-      @RequestHeader(value = "Authorization", required = false) String auth) {
-    Long userId = extractUserId(auth);
-    if (userId == null) return ResponseEntity.status(401).build();
-
-    boolean isAdmin = jwtService.hasRole(auth, "ADMIN");
-
-    List<Vehicle> vehicles = isAdmin ? vehicleService.listAll() : vehicleService.listByUser(userId);
+  public ResponseEntity<?> list(@CurrentUser AuthenticatedUser user) {
+    List<Vehicle> vehicles =
+        user.hasRole("ADMIN") ? vehicleService.listAll() : vehicleService.listByUser(user.userId());
 
     List<VehicleDTO> dtos = vehicles.stream().map(this::mapToDTO).toList();
 
@@ -77,18 +54,12 @@ public class VehicleController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<?> get(
-      @PathVariable Long id,
-      @RequestHeader(value = "Authorization", required = false) String auth) {
-
-    Long userId = extractUserId(auth);
-    if (userId == null) return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
-
+  public ResponseEntity<?> get(@PathVariable Long id, @CurrentUser AuthenticatedUser user) {
     Vehicle v = vehicleService.get(id);
     if (v == null) return ResponseEntity.notFound().build();
 
-    boolean isAdmin = jwtService.hasRole(auth, "ADMIN");
-    boolean isOwner = v.getUserId() != null && v.getUserId().equals(userId);
+    boolean isAdmin = user.hasRole("ADMIN");
+    boolean isOwner = v.getUserId() != null && v.getUserId().equals(user.userId());
 
     if (!isAdmin && !isOwner) return ResponseEntity.status(403).body(Map.of("error", "Forbidden"));
 
@@ -97,12 +68,7 @@ public class VehicleController {
 
   @PostMapping
   public ResponseEntity<?> create(
-      @RequestHeader(value = "Authorization", required = false) String auth,
-      @Valid @RequestBody VehicleCreateDTO dto) {
-
-    Long userId = extractUserId(auth);
-    if (userId == null) return ResponseEntity.status(401).build();
-
+      @CurrentUser Long userId, @Valid @RequestBody VehicleCreateDTO dto) {
     // prevent duplicate VIN for the same user
     if (vehicleService.existsByVinAndUserId(dto.getVin(), userId)) {
       return ResponseEntity.status(HttpStatus.CONFLICT)
@@ -142,22 +108,14 @@ public class VehicleController {
   }
 
   @DeleteMapping("/{id}")
-  public ResponseEntity<?> delete(
-      @PathVariable Long id,
-      @RequestHeader(value = "Authorization", required = false) String auth) {
-
-    Long userId = extractUserId(auth);
-    if (userId == null) {
-      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
-    }
-
+  public ResponseEntity<?> delete(@PathVariable Long id, @CurrentUser AuthenticatedUser user) {
     Vehicle v = vehicleService.get(id);
     if (v == null) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Vehicle not found"));
     }
 
-    boolean isAdmin = jwtService.hasRole(auth, "ADMIN");
-    boolean isOwner = v.getUserId() != null && v.getUserId().equals(userId);
+    boolean isAdmin = user.hasRole("ADMIN");
+    boolean isOwner = v.getUserId() != null && v.getUserId().equals(user.userId());
 
     if (!isAdmin && !isOwner) {
       return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -169,13 +127,7 @@ public class VehicleController {
   }
 
   @PutMapping("/{id}/link")
-  public ResponseEntity<?> linkVehicle(
-      @PathVariable Long id,
-      @RequestHeader(value = "Authorization", required = false) String auth) {
-
-    Long userId = extractUserId(auth);
-    if (userId == null) return ResponseEntity.status(401).build();
-
+  public ResponseEntity<?> linkVehicle(@PathVariable Long id, @CurrentUser Long userId) {
     Vehicle v = vehicleService.get(id);
     if (v == null) return ResponseEntity.notFound().build();
 
@@ -189,18 +141,8 @@ public class VehicleController {
   }
 
   @GetMapping("/user/{userId}")
-  public ResponseEntity<?> getVehiclesByUser(
-      @PathVariable Long userId,
-      @RequestHeader(value = "Authorization", required = false) String auth) {
-
-    Long requestingUserId = extractUserId(auth);
-    if (requestingUserId == null) return ResponseEntity.status(401).build();
-
-    boolean isAdmin = jwtService.hasRole(auth, "ADMIN");
-    if (!isAdmin) {
-      return ResponseEntity.status(403).body(Map.of("error", "Admin access required"));
-    }
-
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<?> getVehiclesByUser(@PathVariable Long userId) {
     List<Vehicle> vehicles = vehicleService.listByUser(userId);
     List<VehicleDTO> dtos = vehicles.stream().map(this::mapToDTO).toList();
 
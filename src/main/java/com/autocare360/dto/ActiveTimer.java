@@ -0,0 +1,29 @@
+package com.autocare360.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/** A running timer as held by {@code ActiveTimerRegistry}; everything the timer views display. */
+public record ActiveTimer(
+    Long timerId,
+    Long employeeId,
+    Long appointmentId,
+    String projectName,
+    LocalDateTime startTime) {
+
+  public TimerResponseDTO toResponse(LocalDateTime now) {
+    long elapsedSeconds = Duration.between(startTime, now).getSeconds();
+    TimerResponseDTO response = new TimerResponseDTO();
+    response.setTimerId(timerId);
+    response.setAppointmentId(appointmentId);
+    response.setProjectName(projectName);
+    response.setStartTime(startTime);
+    response.setElapsedSeconds((int) elapsedSeconds);
+    response.setElapsedHours(
+        new BigDecimal(elapsedSeconds).divide(new BigDecimal("3600"), 2, RoundingMode.HALF_UP));
+    response.setIsActive(true);
+    return response;
+  }
+}
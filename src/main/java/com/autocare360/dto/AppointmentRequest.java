@@ -1,5 +1,6 @@
 package com.autocare360.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import lombok.Data;
@@ -14,4 +15,6 @@ public class AppointmentRequest {
   private String status;
   private String notes;
   private String technician;
+  // Job length; the service's usual length when not given
+  private BigDecimal estimatedHours;
 }
@@ -0,0 +1,44 @@
+package com.autocare360.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * One assigned job as read by {@code AppointmentRepository.findAssignedJobRows}: appointment
+ * columns, the customer's name and the hours the technician has logged, all from a single query.
+ */
+public record AssignedJobRow(
+    Long id,
+    String service,
+    String customerName,
+    Long customerId,
+    String vehicle,
+    Integer storedProgress,
+    String status,
+    BigDecimal estimatedHours,
+    LocalDate dueDate,
+    LocalDate date,
+    LocalTime time,
+    String notes,
+    LocalDateTime updatedAt,
+    BigDecimal loggedHours) {
+
+  public AssignedJobRow {
+    loggedHours = loggedHours == null ? BigDecimal.ZERO : loggedHours;
+  }
+
+  /** Progress set by the technician, else logged vs estimated hours; completed jobs are 100. */
+  public int effectiveProgress() {
+    if ("COMPLETED".equals(status)) return 100;
+    if (storedProgress != null && storedProgress != 0) return storedProgress;
+    if (estimatedHours == null || estimatedHours.compareTo(BigDecimal.ZERO) <= 0) return 0;
+    return loggedHours
+        .divide(estimatedHours, 4, RoundingMode.HALF_UP)
+        .multiply(new BigDecimal("100"))
+        .min(new BigDecimal("100"))
+        .intValue();
+  }
+}
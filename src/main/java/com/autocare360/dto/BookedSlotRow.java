@@ -0,0 +1,17 @@
+package com.autocare360.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One live (not cancelled) booking for a technician, by assigned user id: its start and what sets
+ * its length.
+ */
+public record BookedSlotRow(
+    Long appointmentId,
+    Long technicianId,
+    LocalDate date,
+    LocalTime time,
+    String service,
+    BigDecimal estimatedHours) {}
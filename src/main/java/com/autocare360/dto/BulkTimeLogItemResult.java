@@ -0,0 +1,18 @@
+package com.autocare360.dto;
+
+/**
+ * Outcome of one bulk entry, by its position in the request; {@code error} is set when rejected.
+ */
+public record BulkTimeLogItemResult(int index, String status, Long timeLogId, String error) {
+
+  public static final String CREATED = "CREATED";
+  public static final String REJECTED = "REJECTED";
+
+  public static BulkTimeLogItemResult created(int index, Long timeLogId) {
+    return new BulkTimeLogItemResult(index, CREATED, timeLogId, null);
+  }
+
+  public static BulkTimeLogItemResult rejected(int index, String error) {
+    return new BulkTimeLogItemResult(index, REJECTED, null, error);
+  }
+}
@@ -0,0 +1,11 @@
+package com.autocare360.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * A batch of time log entries, e.g. a day of offline work synced from a tablet. Entries are
+ * validated one by one so a bad entry is reported without rejecting the rest.
+ */
+public record BulkTimeLogRequestDTO(
+    @NotEmpty(message = "At least one entry is required") List<CreateTimeLogRequestDTO> entries) {}
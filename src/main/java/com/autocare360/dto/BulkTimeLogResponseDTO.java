@@ -0,0 +1,6 @@
+package com.autocare360.dto;
+
+import java.util.List;
+
+public record BulkTimeLogResponseDTO(
+    int created, int rejected, List<BulkTimeLogItemResult> results) {}
@@ -0,0 +1,7 @@
+package com.autocare360.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Hours and number of time log entries for one employee on one day. */
+public record DailyHoursRow(Long employeeId, LocalDate date, BigDecimal hours, Long entries) {}
@@ -0,0 +1,17 @@
+package com.autocare360.dto;
+
+/**
+ * Job counters behind {@link EmployeeDashboardSummaryDTO}, read in one round trip by {@code
+ * EmployeeRepository.findDashboardCounters}. Numeric columns are exposed as {@link Number} because
+ * MySQL and H2 type SUM/COUNT results differently.
+ */
+public interface EmployeeDashboardCounters {
+
+  String getEmployeeName();
+
+  Number getActiveJobs();
+
+  Number getJobsInProgress();
+
+  Number getCompletedThisMonth();
+}
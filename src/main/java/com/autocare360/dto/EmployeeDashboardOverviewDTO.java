@@ -0,0 +1,17 @@
+package com.autocare360.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every employee dashboard widget in one payload. A widget that failed or ran past its timeout is
+ * null and listed in {@code errors} (widget name to "timeout" or "failed"), so the page can still
+ * render the rest.
+ */
+public record EmployeeDashboardOverviewDTO(
+    EmployeeDashboardSummaryDTO summary,
+    List<AssignedJobDTO> assignedJobs,
+    List<TodayAppointmentDTO> todayAppointments,
+    List<WeeklyWorkloadDTO> weeklyWorkload,
+    List<TaskDistributionDTO> taskDistribution,
+    Map<String, String> errors) {}
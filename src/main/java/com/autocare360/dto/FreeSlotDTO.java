@@ -0,0 +1,7 @@
+package com.autocare360.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** A bookable start time and the technicians free at it. */
+public record FreeSlotDTO(LocalDate date, String time, List<String> technicians) {}
@@ -13,5 +13,6 @@ import lombok.Setter;
 @Builder
 public class RefreshResponse {
   private String accessToken;
+  private String refreshToken; // rotated on every refresh
   private Integer expiresIn; // seconds
 }
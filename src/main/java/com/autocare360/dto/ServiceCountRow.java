@@ -0,0 +1,4 @@
+package com.autocare360.dto;
+
+/** Number of appointments of one service type. */
+public record ServiceCountRow(String service, Long count) {}
@@ -0,0 +1,4 @@
+package com.autocare360.dto;
+
+/** A user appointments can be booked with. */
+public record TechnicianRow(Long id, String name) {}
@@ -0,0 +1,35 @@
+package com.autocare360.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in an employee's time log list, ordered by (date, created_at, id) descending. Sent to
+ * clients as an opaque URL-safe string; the next page starts strictly after it.
+ */
+public record TimeLogCursor(LocalDate date, LocalDateTime createdAt, Long id) {
+
+  public String encode() {
+    String raw = date + "|" + createdAt + "|" + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+   */
+  public static TimeLogCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|");
+      if (parts.length != 3) throw new IllegalArgumentException("Invalid cursor");
+      return new TimeLogCursor(
+          LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.autocare360.dto;
+
+import java.util.List;
+
+/** One page of time logs; {@code nextCursor} is null on the last page. */
+public record TimeLogPageDTO(List<TimeLogResponseDTO> items, String nextCursor) {}
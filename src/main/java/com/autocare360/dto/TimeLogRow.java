@@ -0,0 +1,34 @@
+package com.autocare360.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One time log with the appointment, customer and employee names it is listed with, read by the
+ * {@code TimeLogRepository} row queries in a single statement instead of lazy loads per log.
+ */
+public record TimeLogRow(
+    Long id,
+    LocalDate date,
+    Long appointmentId,
+    String service,
+    String vehicle,
+    Long customerId,
+    String customerName,
+    BigDecimal hours,
+    String description,
+    String status,
+    Long employeeId,
+    String employeeName,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt) {
+
+  public String projectName() {
+    return service + " - " + vehicle;
+  }
+
+  public TimeLogCursor cursor() {
+    return new TimeLogCursor(date, createdAt, id);
+  }
+}
@@ -0,0 +1,9 @@
+package com.autocare360.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/** One week of a multi-week workload trend: Monday start, total hours and the seven days. */
+public record WorkloadWeekDTO(
+    LocalDate weekStart, LocalDate weekEnd, BigDecimal totalHours, List<WeeklyWorkloadDTO> days) {}
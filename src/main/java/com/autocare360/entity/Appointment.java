@@ -11,16 +11,28 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.List;
 
 @Entity
-@Table(name = "appointments")
+@Table(
+    name = "appointments",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_appointments_active_slot",
+            columnNames = {"assigned_user_id", "date", "time", "active_slot"}))
 public class Appointment {
 
   @Id
@@ -74,6 +86,18 @@ public class Appointment {
   @JsonIgnore
   private User assignedUser;
 
+  // 1 while the booking holds its technician's slot, NULL once cancelled or when unassigned; NULLs
+  // never collide in uk_appointments_active_slot, so only live bookings are unique per slot. The
+  // index only catches bookings starting at the same time; overlaps are checked by
+  // AppointmentService
+  @Column(name = "active_slot")
+  @JsonIgnore
+  private Integer activeSlot;
+
+  // Technician, start and whether the slot is held, as last read or written. Edits that change none
+  // of them leave active_slot alone, so double bookings V14 left unmarked can still be edited
+  @Transient @JsonIgnore private List<Object> storedSlot;
+
   // NEW: Project tracking fields
   @Column(name = "estimated_hours", precision = 5, scale = 2)
   private BigDecimal estimatedHours;
@@ -292,8 +316,32 @@ public class Appointment {
     this.specialInstructions = specialInstructions;
   }
 
+  @PrePersist
+  public void prePersist() {
+    this.activeSlot = holdsSlot() ? 1 : null;
+  }
+
   @PreUpdate
   public void preUpdate() {
     this.updatedAt = LocalDateTime.now();
+    if (!slot().equals(storedSlot)) {
+      this.activeSlot = holdsSlot() ? 1 : null;
+    }
+  }
+
+  @PostLoad
+  @PostPersist
+  @PostUpdate
+  void rememberSlot() {
+    this.storedSlot = slot();
+  }
+
+  private List<Object> slot() {
+    return Arrays.asList(
+        assignedUser != null ? assignedUser.getId() : null, date, time, holdsSlot());
+  }
+
+  private boolean holdsSlot() {
+    return assignedUser != null && !"CANCELLED".equals(status);
   }
 }
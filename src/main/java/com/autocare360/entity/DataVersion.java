@@ -0,0 +1,21 @@
+package com.autocare360.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "data_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataVersion {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(nullable = false)
+  private Long version;
+}
@@ -0,0 +1,40 @@
+package com.autocare360.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.*;
+
+@Entity
+@Table(name = "employee_daily_hours")
+@IdClass(EmployeeDailyHours.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeDailyHours {
+
+  @Id
+  @Column(name = "employee_id")
+  private Long employeeId;
+
+  @Id
+  @Column(name = "work_date")
+  private LocalDate workDate;
+
+  @Column(nullable = false, precision = 9, scale = 2)
+  private BigDecimal hours;
+
+  @Column(nullable = false)
+  private Integer entries;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private Long employeeId;
+    private LocalDate workDate;
+  }
+}
@@ -0,0 +1,42 @@
+package com.autocare360.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  // URL-safe Base64 SHA-256 digest of the raw token
+  @Column(name = "token_hash", nullable = false, unique = true, length = 43)
+  private String tokenHash;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  @Column(name = "revoked_at")
+  private Instant revokedAt;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @PrePersist
+  void onCreate() {
+    if (this.createdAt == null) {
+      this.createdAt = Instant.now();
+    }
+  }
+}
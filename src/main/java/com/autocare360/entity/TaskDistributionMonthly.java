@@ -0,0 +1,41 @@
+package com.autocare360.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.*;
+
+@Entity
+@Table(name = "task_distribution_monthly")
+@IdClass(TaskDistributionMonthly.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDistributionMonthly {
+
+  @Id
+  @Column(name = "assigned_user_id")
+  private Long assignedUserId;
+
+  @Id
+  @Column(nullable = false)
+  private String service;
+
+  // yyyymm, e.g. 202410
+  @Id
+  @Column(name = "month_key")
+  private Integer monthKey;
+
+  @Column(nullable = false)
+  private Integer appointments;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private Long assignedUserId;
+    private String service;
+    private Integer monthKey;
+  }
+}
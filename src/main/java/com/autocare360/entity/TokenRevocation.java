@@ -0,0 +1,43 @@
+package com.autocare360.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+@Entity
+@Table(name = "token_revocations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  // Set when a single access token (jti) is revoked
+  @Column(name = "token_id", length = 36)
+  private String tokenId;
+
+  // Set together with revokedBefore when every token of a user issued up to then is revoked
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(name = "revoked_before")
+  private Instant revokedBefore;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @PrePersist
+  void onCreate() {
+    if (this.createdAt == null) {
+      this.createdAt = Instant.now();
+    }
+  }
+}
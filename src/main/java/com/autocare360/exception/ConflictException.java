@@ -1,7 +1,24 @@
 package com.autocare360.exception;
 
+/** A 409; {@link #getCode()} tells clients which kind of conflict it was. */
 public class ConflictException extends RuntimeException {
+
+  public static final String CONFLICT = "CONFLICT";
+  public static final String EMAIL_ALREADY_IN_USE = "EMAIL_ALREADY_IN_USE";
+  public static final String SLOT_TAKEN = "SLOT_TAKEN";
+
+  private final String code;
+
   public ConflictException(String message) {
+    this(CONFLICT, message);
+  }
+
+  public ConflictException(String code, String message) {
     super(message);
+    this.code = code;
+  }
+
+  public String getCode() {
+    return code;
   }
 }
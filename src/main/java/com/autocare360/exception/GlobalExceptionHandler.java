@@ -3,8 +3,10 @@ package com.autocare360.exception;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -33,10 +35,26 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(ConflictException.class)
   public ResponseEntity<Object> handleConflict(ConflictException ex) {
     Map<String, Object> body = new HashMap<>();
-    body.put("error", Map.of("code", "EMAIL_ALREADY_IN_USE", "message", ex.getMessage()));
+    body.put("error", Map.of("code", ex.getCode(), "message", ex.getMessage()));
     return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
   }
 
+  @ExceptionHandler(ServiceBusyException.class)
+  public ResponseEntity<Object> handleServiceBusy(ServiceBusyException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("error", Map.of("code", "SERVICE_BUSY", "message", ex.getMessage()));
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(body);
+  }
+
+  @ExceptionHandler(AccessDeniedException.class)
+  public ResponseEntity<Object> handleAccessDenied(AccessDeniedException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("error", Map.of("code", "FORBIDDEN", "message", "Access denied"));
+    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Object> handleValidation(MethodArgumentNotValidException ex) {
     Map<String, Object> details = new HashMap<>();
@@ -1,10 +1,17 @@
 package com.autocare360.repo;
 
+import com.autocare360.dto.AssignedJobRow;
+import com.autocare360.dto.BookedSlotRow;
+import com.autocare360.dto.ServiceCountRow;
 import com.autocare360.entity.Appointment;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,7 +26,9 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
   // Customer queries
   List<Appointment> findByUser_IdOrderByDateDescTimeDesc(Long userId);
 
-  // Employee queries - Find by assigned user (employee from users table)
+  // Employee queries - Find by assigned user (employee from users table); the customer is fetched
+  // with the row since every caller shows the customer name
+  @EntityGraph(attributePaths = "user")
   List<Appointment> findByAssignedUser_IdAndDateOrderByTimeAsc(Long userId, LocalDate date);
 
   // Employee queries - Find by assigned user, date and status
@@ -36,6 +45,14 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
   List<Appointment> findByDateAndTimeAndStatusNot(
       LocalDate date, java.time.LocalTime time, String excludeStatus);
 
+  // Availability index - Every technician's live bookings in a date range
+  @Query(
+      "SELECT new com.autocare360.dto.BookedSlotRow("
+          + "a.id, a.assignedUser.id, a.date, a.time, a.service, a.estimatedHours) "
+          + "FROM Appointment a WHERE a.date BETWEEN :from AND :to AND a.status <> 'CANCELLED' "
+          + "AND a.assignedUser IS NOT NULL")
+  List<BookedSlotRow> findBookedSlots(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
   // Employee Dashboard Queries - Find by assigned user (from users table) and status
   List<Appointment> findByAssignedUser_IdAndStatusInOrderByDateAscTimeAsc(
       Long userId, List<String> statuses);
@@ -88,4 +105,54 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
       @Param("status") String status,
       @Param("start") LocalDateTime start,
       @Param("end") LocalDateTime end);
+
+  // Employee Dashboard Queries - Assigned jobs with customer name and logged hours in one query
+  String ASSIGNED_JOB_ROW =
+      "SELECT new com.autocare360.dto.AssignedJobRow("
+          + "a.id, a.service, u.name, u.id, a.vehicle, a.progress, a.status, a.estimatedHours, "
+          + "a.dueDate, a.date, a.time, a.notes, a.updatedAt, "
+          + "(SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t "
+          + "WHERE t.employee.id = :userId AND t.appointment.id = a.id)) "
+          + "FROM Appointment a JOIN a.user u WHERE a.assignedUser.id = :userId ";
+
+  @Query(ASSIGNED_JOB_ROW + "AND a.status IN :statuses ORDER BY a.date ASC, a.time ASC")
+  List<AssignedJobRow> findAssignedJobRows(
+      @Param("userId") Long userId, @Param("statuses") List<String> statuses);
+
+  @Query(ASSIGNED_JOB_ROW + "ORDER BY a.date ASC, a.time ASC")
+  List<AssignedJobRow> findAllAssignedJobRows(@Param("userId") Long userId);
+
+  // Employee Dashboard Queries - Appointments per service in a date range (spans shorter than a
+  // month; longer ones use the task_distribution_monthly rollup)
+  @Query(
+      "SELECT new com.autocare360.dto.ServiceCountRow(a.service, COUNT(a)) FROM Appointment a "
+          + "WHERE a.assignedUser.id = :userId AND a.date BETWEEN :startDate AND :endDate "
+          + "GROUP BY a.service")
+  List<ServiceCountRow> countByServiceForAssignedUser(
+      @Param("userId") Long userId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  // Time log writes - Apply the change in logged hours to the appointment total in place. Pending
+  // changes are flushed first; callers refresh a managed copy of the appointment afterwards
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE Appointment a SET a.actualHours = COALESCE(a.actualHours, 0) + :delta "
+          + "WHERE a.id = :appointmentId")
+  int addActualHours(@Param("appointmentId") Long appointmentId, @Param("delta") BigDecimal delta);
+
+  // Backfill - Recompute every appointment's actual hours from time_logs; returns rows changed
+  @Modifying
+  @Query(
+      value =
+          "UPDATE appointments a SET actual_hours = "
+              + "(SELECT COALESCE(SUM(t.hours), 0) FROM time_logs t WHERE t.appointment_id = a.id) "
+              + "WHERE COALESCE(a.actual_hours, -1) <> "
+              + "(SELECT COALESCE(SUM(t.hours), 0) FROM time_logs t WHERE t.appointment_id = a.id)",
+      nativeQuery = true)
+  int recomputeActualHours();
+
+  // Bulk time logs - Which of the referenced appointments exist, in one query
+  @Query("SELECT a.id FROM Appointment a WHERE a.id IN :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
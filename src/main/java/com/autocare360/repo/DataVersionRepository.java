@@ -0,0 +1,21 @@
+package com.autocare360.repo;
+
+import com.autocare360.entity.DataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, Long> {
+
+  /** Advance a version, creating its row on first use; one atomic statement. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO data_versions (user_id, version) VALUES (:userId, 1) "
+              + "ON DUPLICATE KEY UPDATE version = version + 1",
+      nativeQuery = true)
+  int bump(@Param("userId") Long userId);
+}
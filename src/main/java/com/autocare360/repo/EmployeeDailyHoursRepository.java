@@ -0,0 +1,62 @@
+package com.autocare360.repo;
+
+import com.autocare360.dto.DailyHoursRow;
+import com.autocare360.entity.EmployeeDailyHours;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmployeeDailyHoursRepository
+    extends JpaRepository<EmployeeDailyHours, EmployeeDailyHours.Key> {
+
+  /** Apply a delta, creating the day's row on first use; one atomic statement. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO employee_daily_hours (employee_id, work_date, hours, entries) "
+              + "VALUES (:employeeId, :workDate, :hours, :entries) "
+              + "ON DUPLICATE KEY UPDATE hours = hours + :hours, entries = entries + :entries",
+      nativeQuery = true)
+  int addToDay(
+      @Param("employeeId") Long employeeId,
+      @Param("workDate") LocalDate workDate,
+      @Param("hours") BigDecimal hours,
+      @Param("entries") int entries);
+
+  @Query(
+      "SELECT new com.autocare360.dto.DailyHoursRow(d.employeeId, d.workDate, d.hours, "
+          + "CAST(d.entries AS long)) FROM EmployeeDailyHours d WHERE d.workDate >= :from")
+  List<DailyHoursRow> findDaysFrom(@Param("from") LocalDate from);
+
+  @Query(
+      "SELECT new com.autocare360.dto.DailyHoursRow(d.employeeId, d.workDate, d.hours, "
+          + "CAST(d.entries AS long)) FROM EmployeeDailyHours d")
+  List<DailyHoursRow> findAllDays();
+
+  @Query(
+      "SELECT COALESCE(SUM(d.hours), 0) FROM EmployeeDailyHours d "
+          + "WHERE d.employeeId = :employeeId AND d.workDate BETWEEN :startDate AND :endDate")
+  BigDecimal sumHours(
+      @Param("employeeId") Long employeeId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT d.employeeId, SUM(d.entries) FROM EmployeeDailyHours d GROUP BY d.employeeId")
+  List<Object[]> sumEntriesByEmployee();
+
+  // Full rebuild from the source table, one grouped INSERT ... SELECT
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO employee_daily_hours (employee_id, work_date, hours, entries) "
+              + "SELECT employee_id, date, SUM(hours), COUNT(*) FROM time_logs "
+              + "GROUP BY employee_id, date",
+      nativeQuery = true)
+  int rebuildFromTimeLogs();
+}
@@ -1,9 +1,13 @@
 package com.autocare360.repo;
 
+import com.autocare360.dto.EmployeeDashboardCounters;
 import com.autocare360.entity.Employee;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -17,4 +21,27 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
   // Find employee by name
   Optional<Employee> findByName(String name);
+
+  // Employee Dashboard Queries - Job counters in one round trip (conditional aggregation);
+  // hours come from EmployeeHoursCounterService
+  @Query(
+      value =
+          "SELECT e.name AS employeeName, "
+              + "ap.active_jobs AS activeJobs, ap.jobs_in_progress AS jobsInProgress, "
+              + "ap.completed_this_month AS completedThisMonth "
+              + "FROM employees e "
+              + "CROSS JOIN (SELECT "
+              + "  COALESCE(SUM(CASE WHEN a.status IN ('IN_PROGRESS', 'APPROVED') THEN 1 ELSE 0 END), 0) AS active_jobs, "
+              + "  COALESCE(SUM(CASE WHEN a.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), 0) AS jobs_in_progress, "
+              + "  COALESCE(SUM(CASE WHEN a.status = 'COMPLETED' "
+              + "    AND a.updated_at BETWEEN :monthStart AND :monthEnd THEN 1 ELSE 0 END), 0) AS completed_this_month "
+              + "  FROM appointments a "
+              + "  WHERE a.assigned_user_id = :employeeId "
+              + "  AND a.status IN ('IN_PROGRESS', 'APPROVED', 'COMPLETED')) ap "
+              + "WHERE e.id = :employeeId",
+      nativeQuery = true)
+  Optional<EmployeeDashboardCounters> findDashboardCounters(
+      @Param("employeeId") Long employeeId,
+      @Param("monthStart") LocalDateTime monthStart,
+      @Param("monthEnd") LocalDateTime monthEnd);
 }
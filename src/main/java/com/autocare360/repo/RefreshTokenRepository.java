@@ -0,0 +1,35 @@
+package com.autocare360.repo;
+
+import com.autocare360.entity.RefreshToken;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+  /**
+   * Revoke a token only if it is still live; a result of 0 means another request got there first
+   */
+  @Modifying
+  @Query(
+      "UPDATE RefreshToken t SET t.revokedAt = :now "
+          + "WHERE t.tokenHash = :tokenHash AND t.revokedAt IS NULL")
+  int revokeIfActive(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+  @Modifying
+  @Query(
+      "UPDATE RefreshToken t SET t.revokedAt = :now "
+          + "WHERE t.userId = :userId AND t.revokedAt IS NULL")
+  int revokeAllForUser(@Param("userId") Long userId, @Param("now") Instant now);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,62 @@
+package com.autocare360.repo;
+
+import com.autocare360.dto.ServiceCountRow;
+import com.autocare360.entity.TaskDistributionMonthly;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskDistributionMonthlyRepository
+    extends JpaRepository<TaskDistributionMonthly, TaskDistributionMonthly.Key> {
+
+  /** Count one more appointment, creating the row on first use; one atomic statement. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO task_distribution_monthly "
+              + "(assigned_user_id, service, month_key, appointments) "
+              + "VALUES (:userId, :service, :monthKey, 1) "
+              + "ON DUPLICATE KEY UPDATE appointments = appointments + 1",
+      nativeQuery = true)
+  int increment(
+      @Param("userId") Long userId,
+      @Param("service") String service,
+      @Param("monthKey") int monthKey);
+
+  /** Count one appointment less; returns 0 when there is no count left to take away. */
+  @Modifying
+  @Query(
+      "UPDATE TaskDistributionMonthly d SET d.appointments = d.appointments - 1 "
+          + "WHERE d.assignedUserId = :userId AND d.service = :service AND d.monthKey = :monthKey "
+          + "AND d.appointments > 0")
+  int decrement(
+      @Param("userId") Long userId,
+      @Param("service") String service,
+      @Param("monthKey") int monthKey);
+
+  @Query(
+      "SELECT new com.autocare360.dto.ServiceCountRow(d.service, SUM(d.appointments)) "
+          + "FROM TaskDistributionMonthly d WHERE d.assignedUserId = :userId "
+          + "AND d.monthKey BETWEEN :fromMonth AND :toMonth "
+          + "GROUP BY d.service HAVING SUM(d.appointments) > 0")
+  List<ServiceCountRow> countByService(
+      @Param("userId") Long userId,
+      @Param("fromMonth") int fromMonth,
+      @Param("toMonth") int toMonth);
+
+  // Full rebuild from the source table, one grouped INSERT ... SELECT
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO task_distribution_monthly "
+              + "(assigned_user_id, service, month_key, appointments) "
+              + "SELECT assigned_user_id, service, YEAR(date) * 100 + MONTH(date), COUNT(*) "
+              + "FROM appointments WHERE assigned_user_id IS NOT NULL "
+              + "GROUP BY assigned_user_id, service, YEAR(date) * 100 + MONTH(date)",
+      nativeQuery = true)
+  int rebuildFromAppointments();
+}
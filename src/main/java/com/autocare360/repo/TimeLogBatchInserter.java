@@ -0,0 +1,76 @@
+package com.autocare360.repo;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch insert for time logs. {@code time_logs} uses IDENTITY keys, which stops Hibernate from
+ * batching inserts, so bulk writes go straight through {@link JdbcTemplate}. On MySQL the batch is
+ * only sent as multi-row inserts when the JDBC URL sets {@code rewriteBatchedStatements=true}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimeLogBatchInserter {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO time_logs (employee_id, appointment_id, date, hours, description, status, "
+          + "is_billable, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record Row(
+      Long employeeId,
+      Long appointmentId,
+      LocalDate date,
+      BigDecimal hours,
+      String description,
+      String status) {}
+
+  /** Insert the rows as one JDBC batch; returns the generated ids in row order. */
+  public List<Long> insertAll(List<Row> rows) {
+    if (rows.isEmpty()) return List.of();
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    GeneratedKeyHolder keys = new GeneratedKeyHolder();
+    jdbcTemplate.batchUpdate(
+        con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Row row = rows.get(i);
+            ps.setLong(1, row.employeeId());
+            ps.setLong(2, row.appointmentId());
+            ps.setObject(3, row.date());
+            ps.setBigDecimal(4, row.hours());
+            ps.setString(5, row.description());
+            ps.setString(6, row.status());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return rows.size();
+          }
+        },
+        keys);
+
+    List<Long> ids = new ArrayList<>(rows.size());
+    for (Map<String, Object> key : keys.getKeyList()) {
+      ids.add(((Number) key.values().iterator().next()).longValue());
+    }
+    return ids;
+  }
+}
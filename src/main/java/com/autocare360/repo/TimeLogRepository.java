@@ -1,9 +1,14 @@
 package com.autocare360.repo;
 
+import com.autocare360.dto.DailyHoursRow;
+import com.autocare360.dto.TimeLogRow;
 import com.autocare360.entity.TimeLog;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +17,42 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
 
+  // Time log listing - Log columns plus appointment, customer and employee names in one statement
+  String TIME_LOG_ROW =
+      "SELECT new com.autocare360.dto.TimeLogRow(t.id, t.date, a.id, a.service, a.vehicle, "
+          + "c.id, c.name, t.hours, t.description, t.status, e.id, e.name, t.createdAt, "
+          + "t.updatedAt) "
+          + "FROM TimeLog t JOIN t.appointment a JOIN a.user c JOIN t.employee e "
+          + "WHERE e.id = :employeeId ";
+
+  String NEWEST_FIRST = "ORDER BY t.date DESC, t.createdAt DESC, t.id DESC";
+
+  @Query(TIME_LOG_ROW + NEWEST_FIRST)
+  List<TimeLogRow> findRows(@Param("employeeId") Long employeeId, Limit limit);
+
+  // Keyset page: rows strictly after (date, createdAt, id) in newest-first order
+  @Query(
+      TIME_LOG_ROW
+          + "AND (t.date < :date OR (t.date = :date AND (t.createdAt < :createdAt "
+          + "OR (t.createdAt = :createdAt AND t.id < :id)))) "
+          + NEWEST_FIRST)
+  List<TimeLogRow> findRowsAfter(
+      @Param("employeeId") Long employeeId,
+      @Param("date") LocalDate date,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Limit limit);
+
+  @Query(TIME_LOG_ROW + "AND t.date BETWEEN :startDate AND :endDate " + NEWEST_FIRST)
+  List<TimeLogRow> findRowsBetween(
+      @Param("employeeId") Long employeeId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  // One log as returned by the write endpoints, read after their transaction commits
+  @Query(TIME_LOG_ROW + "AND t.id = :id")
+  Optional<TimeLogRow> findRow(@Param("employeeId") Long employeeId, @Param("id") Long id);
+
   // Find all time logs for a specific employee
   List<TimeLog> findByEmployee_IdOrderByDateDescCreatedAtDesc(Long employeeId);
 
@@ -49,4 +90,21 @@ public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
   // Employee Dashboard Queries - Find by date range ordered by date (for weekly workload chart)
   List<TimeLog> findByEmployee_IdAndDateBetweenOrderByDateAsc(
       Long employeeId, LocalDate startDate, LocalDate endDate);
+
+  // Source totals per employee and day, used to verify the employee_daily_hours rollup
+  @Query(
+      "SELECT new com.autocare360.dto.DailyHoursRow(t.employee.id, t.date, SUM(t.hours), COUNT(t)) "
+          + "FROM TimeLog t GROUP BY t.employee.id, t.date")
+  List<DailyHoursRow> sumHoursGroupedByEmployeeAndDate();
+
+  // Employee Dashboard Queries - Hours per day in a date range, grouped in the database
+  @Query(
+      "SELECT new com.autocare360.dto.DailyHoursRow(t.employee.id, t.date, SUM(t.hours), COUNT(t)) "
+          + "FROM TimeLog t WHERE t.employee.id = :employeeId "
+          + "AND t.date BETWEEN :startDate AND :endDate "
+          + "GROUP BY t.employee.id, t.date ORDER BY t.date")
+  List<DailyHoursRow> sumHoursByDate(
+      @Param("employeeId") Long employeeId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
 }
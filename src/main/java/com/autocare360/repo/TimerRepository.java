@@ -1,8 +1,18 @@
 package com.autocare360.repo;
 
+import com.autocare360.dto.ActiveTimer;
 import com.autocare360.entity.Timer;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +23,30 @@ public interface TimerRepository extends JpaRepository<Timer, Long> {
 
   // Check if employee has active timer
   boolean existsByEmployee_IdAndIsActiveTrue(Long employeeId);
+
+  // All running timers with their project names, used to load the in-memory registry
+  @Query(
+      "SELECT new com.autocare360.dto.ActiveTimer(t.id, t.employee.id, a.id, "
+          + "CONCAT(a.service, ' - ', a.vehicle), t.startTime) "
+          + "FROM Timer t JOIN t.appointment a WHERE t.isActive = true")
+  List<ActiveTimer> findActiveTimers();
+
+  // Oldest running timers started before the cutoff, locked until the caller's transaction ends.
+  // Served by idx_timers_active_start (is_active, start_time), so only the batch is read
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<Timer> findByIsActiveTrueAndStartTimeBeforeOrderByStartTimeAsc(
+      LocalDateTime cutoff, Limit limit);
+
+  // Conditional stop; returns 0 when the timer was already stopped by someone else
+  @Modifying
+  @Query(
+      "UPDATE Timer t SET t.isActive = false, t.endTime = :endTime "
+          + "WHERE t.id = :id AND t.isActive = true")
+  int stop(@Param("id") Long id, @Param("endTime") LocalDateTime endTime);
+
+  @Modifying
+  @Query(
+      "UPDATE Timer t SET t.isActive = false, t.endTime = :endTime "
+          + "WHERE t.id IN :ids AND t.isActive = true")
+  int stopAll(@Param("ids") Collection<Long> ids, @Param("endTime") LocalDateTime endTime);
 }
@@ -0,0 +1,20 @@
+package com.autocare360.repo;
+
+import com.autocare360.entity.TokenRevocation;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+  List<TokenRevocation> findByExpiresAtAfter(Instant now);
+
+  @Modifying
+  @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
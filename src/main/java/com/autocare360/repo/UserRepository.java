@@ -1,8 +1,10 @@
 package com.autocare360.repo;
 
+import com.autocare360.dto.TechnicianRow;
 import com.autocare360.entity.User;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
@@ -10,4 +12,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByName(String name);
 
   java.util.List<User> findDistinctByRoles_Name(String name);
+
+  // Users with an employee number or the EMPLOYEE role, i.e. the technicians appointments can be
+  // booked with
+  @Query(
+      "SELECT new com.autocare360.dto.TechnicianRow(u.id, u.name) FROM User u "
+          + "WHERE (u.employeeNo IS NOT NULL AND u.employeeNo <> '') "
+          + "OR EXISTS (SELECT r FROM u.roles r WHERE r.name = 'EMPLOYEE') ORDER BY u.id")
+  java.util.List<TechnicianRow> findTechnicians();
 }
@@ -0,0 +1,26 @@
+package com.autocare360.security;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthFilter}. Built straight from verified
+ * token claims, so resolving the caller never needs a users table lookup. {@link #getName()} is the
+ * email to stay compatible with code that reads {@code authentication.getName()}.
+ */
+public record AuthenticatedUser(Long userId, String email, List<String> roles)
+    implements Principal {
+
+  public AuthenticatedUser {
+    roles = roles == null ? List.of() : List.copyOf(roles);
+  }
+
+  @Override
+  public String getName() {
+    return email;
+  }
+
+  public boolean hasRole(String role) {
+    return roles.stream().anyMatch(r -> r.equalsIgnoreCase(role));
+  }
+}
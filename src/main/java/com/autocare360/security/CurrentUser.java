@@ -0,0 +1,21 @@
+package com.autocare360.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the caller resolved by {@link JwtAuthFilter} into a controller method. The parameter may
+ * be an {@link AuthenticatedUser} or a {@code Long} user id.
+ *
+ * <pre>{@code
+ * @GetMapping
+ * public ResponseEntity<?> list(@CurrentUser Long userId) { ... }
+ * }</pre>
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {}
@@ -0,0 +1,42 @@
+package com.autocare360.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/** Resolves {@link CurrentUser} parameters from the request's security context. */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+  @Override
+  public boolean supportsParameter(MethodParameter parameter) {
+    if (!parameter.hasParameterAnnotation(CurrentUser.class)) return false;
+    Class<?> type = parameter.getParameterType();
+    return AuthenticatedUser.class.equals(type) || Long.class.equals(type);
+  }
+
+  @Override
+  public Object resolveArgument(
+      @NonNull MethodParameter parameter,
+      ModelAndViewContainer mavContainer,
+      @NonNull NativeWebRequest webRequest,
+      WebDataBinderFactory binderFactory) {
+    AuthenticatedUser user = currentUser(SecurityContextHolder.getContext().getAuthentication());
+    return Long.class.equals(parameter.getParameterType()) ? user.userId() : user;
+  }
+
+  /** The {@link AuthenticatedUser} behind an authentication set by {@link JwtAuthFilter}. */
+  public static AuthenticatedUser currentUser(Authentication authentication) {
+    if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+      return user;
+    }
+    throw new AuthenticationCredentialsNotFoundException("User not authenticated");
+  }
+}
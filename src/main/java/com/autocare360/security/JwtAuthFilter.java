@@ -7,9 +7,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -24,6 +26,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
   private final UserRepository userRepository;
+  private final TokenRevocationRegistry revocationRegistry;
+
+  // When true the Authentication is built from token claims only, with no users lookup
+  @Value("${app.security.jwt.claims-principal:true}")
+  private boolean claimsPrincipal;
 
   @Override
   protected void doFilterInternal(
@@ -37,27 +44,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
       log.debug(
           "Processing JWT token for request: {} {}", request.getMethod(), request.getRequestURI());
 
-      if (jwtService.isTokenValid(token)) {
-        String subject = jwtService.extractSubject(token);
-        log.debug("JWT token valid, subject (user ID): {}", subject);
-
-        userRepository
-            .findById(Long.valueOf(subject))
-            .ifPresent(
-                user -> {
-                  log.debug("User found: {} ({})", user.getEmail(), user.getId());
-                  List<SimpleGrantedAuthority> authorities =
-                      user.getRoles().stream()
-                          .map(r -> new SimpleGrantedAuthority("ROLE_" + r.getName()))
-                          .collect(Collectors.toList());
-                  log.debug("Authorities: {}", authorities);
-
-                  SecurityContextHolder.getContext()
-                      .setAuthentication(
-                          new UsernamePasswordAuthenticationToken(
-                              user.getEmail(), null, authorities));
-                  log.debug("Authentication set for user: {}", user.getEmail());
-                });
+      JwtClaims claims = jwtService.verify(token).orElse(null);
+      if (claims != null) {
+        log.debug("JWT token valid, subject (user ID): {}", claims.subject());
+        authenticate(claims);
       } else {
         log.warn(
             "Invalid JWT token for request: {} {}", request.getMethod(), request.getRequestURI());
@@ -65,4 +55,48 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     }
     filterChain.doFilter(request, response);
   }
+
+  private void authenticate(JwtClaims claims) {
+    Long userId;
+    try {
+      userId = Long.valueOf(claims.subject());
+    } catch (NumberFormatException e) {
+      log.warn("JWT subject '{}' is not a user ID", claims.subject());
+      return;
+    }
+
+    if (revocationRegistry.isRevoked(userId, claims)) {
+      log.debug("JWT token for user {} has been revoked", userId);
+      return;
+    }
+
+    if (claimsPrincipal) {
+      setAuthentication(new AuthenticatedUser(userId, claims.email(), claims.roles()), claims);
+      return;
+    }
+
+    userRepository
+        .findById(userId)
+        .ifPresent(
+            user -> {
+              log.debug("User found: {} ({})", user.getEmail(), user.getId());
+              List<String> roles =
+                  user.getRoles().stream().map(r -> r.getName()).collect(Collectors.toList());
+              setAuthentication(
+                  new AuthenticatedUser(user.getId(), user.getEmail(), roles), claims);
+            });
+  }
+
+  // The verified claims ride along as credentials so logout can revoke this exact token
+  private void setAuthentication(AuthenticatedUser principal, JwtClaims claims) {
+    List<SimpleGrantedAuthority> authorities =
+        principal.roles().stream()
+            .map(r -> new SimpleGrantedAuthority("ROLE_" + r.toUpperCase(Locale.ROOT)))
+            .collect(Collectors.toList());
+    log.debug("Authorities: {}", authorities);
+
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(principal, claims, authorities));
+    log.debug("Authentication set for user: {}", principal.email());
+  }
 }
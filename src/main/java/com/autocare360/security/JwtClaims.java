@@ -0,0 +1,30 @@
+package com.autocare360.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the claims carried by a verified access token. Built once per token by
+ * {@link JwtService} so callers never have to re-parse the compact JWT.
+ */
+public record JwtClaims(
+    String tokenId,
+    String subject,
+    String email,
+    List<String> roles,
+    Instant issuedAt,
+    Instant expiresAt) {
+
+  public JwtClaims {
+    roles = roles == null ? List.of() : List.copyOf(roles);
+  }
+
+  public boolean isExpired(Instant now) {
+    return expiresAt != null && !now.isBefore(expiresAt);
+  }
+
+  // Case-insensitive match, tokens carry lower-case role names
+  public boolean hasRole(String role) {
+    return roles.stream().anyMatch(r -> r.equalsIgnoreCase(role));
+  }
+}
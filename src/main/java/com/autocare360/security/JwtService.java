@@ -1,33 +1,63 @@
 package com.autocare360.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
+@Slf4j
 public class JwtService {
 
+  /** Request attribute counting token verifications; the filter chain should leave it at 1. */
+  public static final String VERIFICATION_COUNT_ATTRIBUTE =
+      JwtService.class.getName() + ".VERIFICATIONS";
+
   @Value("${app.security.jwt.secret}")
   private String jwtSecret;
 
   @Value("${app.security.jwt.access-token-ttl-seconds:3600}")
   private long accessTtlSeconds;
 
+  @Value("${app.security.jwt.verified-cache-size:10000}")
+  private int verifiedCacheSize;
+
+  // Built once: decoding the secret and building a parser per call showed up in every profile
+  private Key signingKey;
+  private JwtParser parser;
+  private VerifiedTokenCache verifiedTokens;
+
+  @PostConstruct
+  void init() {
+    this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    this.verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
+  }
+
   // ================== TOKEN GENERATION ==================
   public String generateToken(String subject, String email, String[] roles) {
     Instant now = Instant.now();
     Instant exp = now.plusSeconds(accessTtlSeconds);
 
     return Jwts.builder()
+        .setId(UUID.randomUUID().toString())
         .setSubject(subject)
         .setIssuedAt(Date.from(now))
         .setExpiration(Date.from(exp))
@@ -35,50 +65,63 @@ public class JwtService {
             Map.of(
                 "email", email,
                 "roles", roles))
-        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
-  // ================== TOKEN VALIDATION ==================
-  public boolean isTokenValid(String token) {
+  public long getAccessTtlSeconds() {
+    return accessTtlSeconds;
+  }
+
+  // ================== TOKEN VERIFICATION ==================
+
+  /**
+   * Verify the token signature and expiry, returning its claims snapshot. Recently verified tokens
+   * are served from a bounded cache so a token is only parsed once while it stays hot.
+   *
+   * @throws JwtException if the token is malformed, tampered with or expired
+   */
+  public JwtClaims parse(String token) {
+    countVerification();
+    Instant now = Instant.now();
+    JwtClaims cached = verifiedTokens.get(token, now);
+    if (cached != null) return cached;
+
+    Claims body = parser.parseClaimsJws(token).getBody();
+    JwtClaims claims =
+        new JwtClaims(
+            body.getId(),
+            body.getSubject(),
+            body.get("email", String.class),
+            toRoles(body.get("roles")),
+            body.getIssuedAt() != null ? body.getIssuedAt().toInstant() : null,
+            body.getExpiration() != null ? body.getExpiration().toInstant() : null);
+    verifiedTokens.put(token, claims, now);
+    return claims;
+  }
+
+  /** Same as {@link #parse(String)} but returns empty instead of throwing for bad tokens. */
+  public Optional<JwtClaims> verify(String token) {
+    if (token == null || token.isBlank()) return Optional.empty();
     try {
-      Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-      return true;
-    } catch (Exception e) {
-      System.out.println("Token invalid: " + e.getMessage());
-      return false;
+      return Optional.of(parse(token));
+    } catch (JwtException | IllegalArgumentException e) {
+      log.debug("Token invalid: {}", e.getMessage());
+      return Optional.empty();
     }
   }
 
-  public String extractSubject(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody()
-        .getSubject();
+  public boolean isTokenValid(String token) {
+    return verify(token).isPresent();
   }
 
-  private Key getSigningKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-    return Keys.hmacShaKeyFor(keyBytes);
+  public String extractSubject(String token) {
+    return parse(token).subject();
   }
 
   // ================== ROLE EXTRACTION ==================
   public List<String> extractRoles(String token) {
-    Claims claims =
-        Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-
-    Object rolesObj = claims.get("roles");
-
-    if (rolesObj instanceof List<?>) {
-      // Convert all items to string safely
-      return ((List<?>) rolesObj).stream().map(Object::toString).toList();
-    } else if (rolesObj instanceof String) {
-      return List.of((String) rolesObj);
-    }
-
-    return List.of(); // fallback empty list
+    return parse(token).roles();
   }
 
   // ================== ROLE CHECK ==================
@@ -86,11 +129,32 @@ public class JwtService {
     if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) return false;
 
     String token = authorizationHeader.substring(7);
+    return verify(token).map(claims -> claims.hasRole(role)).orElse(false);
+  }
 
-    if (!isTokenValid(token)) return false;
+  private static void countVerification() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) return; // not inside an HTTP request, e.g. STOMP CONNECT
+    AtomicInteger count =
+        (AtomicInteger)
+            attributes.getAttribute(VERIFICATION_COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (count == null) {
+      count = new AtomicInteger();
+      attributes.setAttribute(VERIFICATION_COUNT_ATTRIBUTE, count, RequestAttributes.SCOPE_REQUEST);
+    }
+    int verifications = count.incrementAndGet();
+    if (verifications > 1) {
+      log.warn("Token verified {} times in one request", verifications);
+    }
+  }
 
-    List<String> roles = extractRoles(token);
-    // Case-insensitive match
-    return roles.stream().anyMatch(r -> r.equalsIgnoreCase(role));
+  private static List<String> toRoles(Object rolesObj) {
+    if (rolesObj instanceof List<?>) {
+      // Convert all items to string safely
+      return ((List<?>) rolesObj).stream().map(Object::toString).toList();
+    } else if (rolesObj instanceof String) {
+      return List.of((String) rolesObj);
+    }
+    return List.of(); // fallback empty list
   }
 }
@@ -0,0 +1,133 @@
+package com.autocare360.security;
+
+import com.autocare360.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded worker pool so a burst of logins
+ * cannot tie up every Tomcat request thread. When the queue is full new work is rejected straight
+ * away with {@link ServiceBusyException} instead of piling up behind the backlog.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingService {
+
+  private final PasswordEncoder passwordEncoder;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.security.password-hashing.threads:0}")
+  private int threads;
+
+  @Value("${app.security.password-hashing.queue-capacity:64}")
+  private int queueCapacity;
+
+  @Value("${app.security.password-hashing.timeout-ms:5000}")
+  private long timeoutMs;
+
+  private ThreadPoolExecutor executor;
+  private Timer hashTimer;
+  private Timer verifyTimer;
+  private Timer queueWaitTimer;
+
+  @PostConstruct
+  void init() {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger counter = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+              Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    this.hashTimer = latencyTimer("encode");
+    this.verifyTimer = latencyTimer("matches");
+    this.queueWaitTimer =
+        Timer.builder("auth.password.queue.wait")
+            .description("Time password work waits for a hashing thread")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+        .description("Password hashing tasks waiting for a thread")
+        .register(meterRegistry);
+    log.info("Password hashing pool started: {} threads, queue {}", poolSize, queueCapacity);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  public String encode(String rawPassword) {
+    return run(hashTimer, () -> passwordEncoder.encode(rawPassword));
+  }
+
+  public boolean matches(String rawPassword, String encodedPassword) {
+    return run(verifyTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  private <T> T run(Timer latency, Callable<T> work) {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future =
+          executor.submit(
+              () -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return latency.recordCallable(work);
+              });
+    } catch (RejectedExecutionException e) {
+      log.warn("Password hashing queue full ({} waiting), rejecting", executor.getQueue().size());
+      throw new ServiceBusyException("Authentication service is busy, please retry");
+    }
+
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new ServiceBusyException("Authentication service is busy, please retry");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new ServiceBusyException("Password hashing was interrupted");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException re) throw re;
+      throw new IllegalStateException("Password hashing failed", cause);
+    }
+  }
+
+  private Timer latencyTimer(String operation) {
+    return Timer.builder("auth.password.hash.latency")
+        .description("BCrypt execution time on the hashing pool")
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
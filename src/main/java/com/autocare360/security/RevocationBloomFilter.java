@@ -0,0 +1,87 @@
+package com.autocare360.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over revoked token ids and user ids. Lookups hash the key in place and
+ * only read the bit array, so the common "not revoked" answer allocates nothing. A positive answer
+ * only means "maybe" and must be confirmed against the exact revocation set.
+ */
+final class RevocationBloomFilter {
+
+  private static final long USER_SALT = 0x9E3779B97F4A7C15L;
+
+  private final AtomicLongArray words;
+  private final int bitCount;
+  private final int hashCount;
+
+  RevocationBloomFilter(int expectedInsertions, double falsePositiveRate) {
+    int n = Math.max(1, expectedInsertions);
+    long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+  }
+
+  void addToken(String tokenId) {
+    add(hashToken(tokenId));
+  }
+
+  void addUser(long userId) {
+    add(mix(userId ^ USER_SALT));
+  }
+
+  boolean mightContainToken(String tokenId) {
+    return tokenId != null && mightContain(hashToken(tokenId));
+  }
+
+  boolean mightContainUser(long userId) {
+    return mightContain(mix(userId ^ USER_SALT));
+  }
+
+  private void add(long hash) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      int bit = index(h1 + i * h2);
+      int word = bit >>> 6;
+      long mask = 1L << bit;
+      long current;
+      do {
+        current = words.get(word);
+        if ((current & mask) != 0) break;
+      } while (!words.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  private boolean mightContain(long hash) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      int bit = index(h1 + i * h2);
+      if ((words.get(bit >>> 6) & (1L << bit)) == 0) return false;
+    }
+    return true;
+  }
+
+  private int index(int combined) {
+    return (combined & Integer.MAX_VALUE) % bitCount;
+  }
+
+  // FNV-1a over the chars, finished with a mixer; avoids String.getBytes on the hot path
+  private static long hashToken(String tokenId) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < tokenId.length(); i++) {
+      h ^= tokenId.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  // SplitMix64 finalizer
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,199 @@
+package com.autocare360.security;
+
+import com.autocare360.entity.TokenRevocation;
+import com.autocare360.repo.TokenRevocationRepository;
+import com.autocare360.util.AfterCommit;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Revoked access tokens and users whose live tokens must no longer be trusted, e.g. after logout or
+ * a status change. Revocations are persisted in {@code token_revocations} and mirrored in memory
+ * behind a Bloom filter: for the usual token that was never revoked the check is a few bit reads
+ * with no allocation, and only possible positives consult the exact maps. The table is re-read
+ * periodically so revocations made on another instance are picked up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationRegistry {
+
+  private final TokenRevocationRepository revocationRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  @Value("${app.security.jwt.access-token-ttl-seconds:3600}")
+  private long accessTtlSeconds;
+
+  @Value("${app.security.revocation.expected-entries:100000}")
+  private int expectedEntries;
+
+  @Value("${app.security.revocation.false-positive-rate:0.01}")
+  private double falsePositiveRate;
+
+  private volatile Snapshot snapshot;
+
+  // Filter plus exact sets; replaced as a whole on reload since Bloom filters cannot drop entries
+  private record Snapshot(
+      RevocationBloomFilter filter, Map<String, Instant> tokens, Map<Long, Instant> userCutoffs) {}
+
+  /** Revoke a single access token until it expires, e.g. on logout. */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void revokeToken(JwtClaims claims) {
+    if (claims == null || claims.tokenId() == null) return;
+    Instant expiresAt =
+        claims.expiresAt() != null
+            ? claims.expiresAt()
+            : Instant.now().plusSeconds(accessTtlSeconds);
+    revocationRepository.save(
+        TokenRevocation.builder().tokenId(claims.tokenId()).expiresAt(expiresAt).build());
+    synchronized (this) {
+      Snapshot s = current();
+      s.tokens().merge(claims.tokenId(), expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+      s.filter().addToken(claims.tokenId());
+    }
+    log.debug("Revoked token {} of user {}", claims.tokenId(), claims.subject());
+  }
+
+  /**
+   * Reject every token issued for this user up to now; the user has to log in again. Called inside
+   * a transaction it takes effect once that commits, so a change that rolls back logs nobody out.
+   */
+  public void invalidateUser(Long userId) {
+    if (userId == null) return;
+    AfterCommit.run(() -> recordUserCutoff(userId));
+  }
+
+  private void recordUserCutoff(Long userId) {
+    // JWT iat has second precision, so compare on whole seconds; tokens issued in this second are
+    // rejected too
+    Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    synchronized (this) {
+      Snapshot s = current();
+      s.userCutoffs().merge(userId, now, (a, b) -> a.isAfter(b) ? a : b);
+      s.filter().addUser(userId);
+    }
+    // Own transaction: after commit the caller's is already finished
+    TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+    requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    try {
+      requiresNew.executeWithoutResult(
+          status ->
+              revocationRepository.save(
+                  TokenRevocation.builder()
+                      .userId(userId)
+                      .revokedBefore(now)
+                      .expiresAt(now.plusSeconds(accessTtlSeconds))
+                      .build()));
+    } catch (RuntimeException e) {
+      // Still enforced here; other instances miss it until the user logs out or it is retried
+      log.error("Could not persist token cutoff for user {}", userId, e);
+      return;
+    }
+    log.info("Invalidated live tokens for user {}", userId);
+  }
+
+  /** Whether a verified token must be rejected; {@code userId} is the token subject. */
+  public boolean isRevoked(long userId, JwtClaims claims) {
+    Snapshot s = current();
+    boolean tokenHit = s.filter().mightContainToken(claims.tokenId());
+    boolean userHit = s.filter().mightContainUser(userId);
+    if (!tokenHit && !userHit) return false;
+
+    if (tokenHit && s.tokens().containsKey(claims.tokenId())) return true;
+    if (userHit) {
+      Instant cutoff = s.userCutoffs().get(userId);
+      return cutoff != null && (claims.issuedAt() == null || !claims.issuedAt().isAfter(cutoff));
+    }
+    return false;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void load() {
+    reload();
+  }
+
+  /**
+   * Rebuild the filter from the table, dropping expired entries. In-memory entries that are not yet
+   * visible in the table (e.g. written by a transaction still in flight) are carried over.
+   */
+  @Scheduled(
+      initialDelayString = "${app.security.revocation.reload-interval-ms:60000}",
+      fixedDelayString = "${app.security.revocation.reload-interval-ms:60000}")
+  @Transactional
+  public void reload() {
+    Instant now = Instant.now();
+    revocationRepository.deleteExpired(now);
+    List<TokenRevocation> rows = revocationRepository.findByExpiresAtAfter(now);
+
+    synchronized (this) {
+      Snapshot previous = snapshot;
+      Snapshot next = emptySnapshot(rows.size());
+      for (TokenRevocation r : rows) {
+        if (r.getTokenId() != null) {
+          next.tokens().merge(r.getTokenId(), r.getExpiresAt(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        if (r.getUserId() != null && r.getRevokedBefore() != null) {
+          next.userCutoffs()
+              .merge(r.getUserId(), r.getRevokedBefore(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+      }
+      if (previous != null) {
+        Instant horizon = now.minusSeconds(accessTtlSeconds);
+        previous
+            .tokens()
+            .forEach(
+                (id, exp) -> {
+                  if (exp.isAfter(now))
+                    next.tokens().merge(id, exp, (a, b) -> a.isAfter(b) ? a : b);
+                });
+        previous
+            .userCutoffs()
+            .forEach(
+                (id, cutoff) -> {
+                  if (cutoff.isAfter(horizon)) {
+                    next.userCutoffs().merge(id, cutoff, (a, b) -> a.isAfter(b) ? a : b);
+                  }
+                });
+      }
+      next.tokens().keySet().forEach(next.filter()::addToken);
+      next.userCutoffs().keySet().forEach(next.filter()::addUser);
+      snapshot = next;
+      log.debug(
+          "Loaded {} revoked tokens and {} user cutoffs",
+          next.tokens().size(),
+          next.userCutoffs().size());
+    }
+  }
+
+  private Snapshot current() {
+    Snapshot s = snapshot;
+    if (s != null) return s;
+    synchronized (this) {
+      if (snapshot == null) snapshot = emptySnapshot(0);
+      return snapshot;
+    }
+  }
+
+  private Snapshot emptySnapshot(int entries) {
+    return new Snapshot(
+        new RevocationBloomFilter(Math.max(expectedEntries, entries * 2), falsePositiveRate),
+        new ConcurrentHashMap<>(),
+        new ConcurrentHashMap<>());
+  }
+}
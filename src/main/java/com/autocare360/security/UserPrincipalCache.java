@@ -0,0 +1,97 @@
+package com.autocare360.security;
+
+import com.autocare360.repo.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded user id to email map used to name STOMP principals. Tokens carry the numeric user id as
+ * subject, but user destinations are routed by email; without this cache every CONNECT, including
+ * the reconnect storm after a deploy, costs a users lookup. Services evict an id when the user
+ * changes, and entries also age out so changes made on another instance are picked up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserPrincipalCache {
+
+  private final UserRepository userRepository;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.websocket.principal-cache-size:10000}")
+  private int maxEntries;
+
+  @Value("${app.websocket.principal-cache-ttl-seconds:600}")
+  private long ttlSeconds;
+
+  private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+  private Counter hits;
+  private Counter misses;
+
+  private record Entry(String email, Instant expiresAt) {}
+
+  @PostConstruct
+  void init() {
+    this.hits = cacheCounter("hit");
+    this.misses = cacheCounter("miss");
+    Gauge.builder("ws.principal.cache.size", entries, Map::size)
+        .description("User id to email entries held for STOMP principals")
+        .register(meterRegistry);
+  }
+
+  /** Email for the user, or null if the user no longer exists. */
+  public String emailFor(Long userId) {
+    Instant now = Instant.now();
+    Entry entry = entries.get(userId);
+    if (entry != null && now.isBefore(entry.expiresAt())) {
+      hits.increment();
+      return entry.email();
+    }
+    misses.increment();
+
+    String email = userRepository.findById(userId).map(u -> u.getEmail()).orElse(null);
+    if (email == null) {
+      entries.remove(userId);
+      return null;
+    }
+    if (maxEntries <= 0) return email;
+    if (entries.size() >= maxEntries) {
+      evict(now);
+    }
+    entries.put(userId, new Entry(email, now.plusSeconds(ttlSeconds)));
+    return email;
+  }
+
+  public void evict(Long userId) {
+    if (userId != null && entries.remove(userId) != null) {
+      log.debug("Evicted cached principal for user {}", userId);
+    }
+  }
+
+  private void evict(Instant now) {
+    entries.values().removeIf(e -> !now.isBefore(e.expiresAt()));
+    int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+    Iterator<Long> it = entries.keySet().iterator();
+    while (toRemove-- > 0 && it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+  }
+
+  private Counter cacheCounter(String result) {
+    return Counter.builder("ws.principal.cache.requests")
+        .description("STOMP principal lookups by cache result")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
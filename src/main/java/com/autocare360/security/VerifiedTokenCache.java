@@ -0,0 +1,73 @@
+package com.autocare360.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of recently verified tokens, keyed by the SHA-256 digest of the compact JWT so raw
+ * tokens are never held in memory. Entries are dropped once the token expires; when the cache is
+ * full, expired entries are purged first and then an arbitrary slice is evicted.
+ */
+final class VerifiedTokenCache {
+
+  private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private final Map<String, JwtClaims> entries = new ConcurrentHashMap<>();
+  private final int maxEntries;
+
+  VerifiedTokenCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  JwtClaims get(String token, Instant now) {
+    if (maxEntries <= 0) return null;
+    String key = digest(token);
+    JwtClaims claims = entries.get(key);
+    if (claims != null && claims.isExpired(now)) {
+      entries.remove(key, claims);
+      return null;
+    }
+    return claims;
+  }
+
+  void put(String token, JwtClaims claims, Instant now) {
+    if (maxEntries <= 0) return;
+    if (entries.size() >= maxEntries) {
+      evict(now);
+    }
+    entries.put(digest(token), claims);
+  }
+
+  void clear() {
+    entries.clear();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private void evict(Instant now) {
+    entries.values().removeIf(c -> c.isExpired(now));
+    int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+    Iterator<String> it = entries.keySet().iterator();
+    while (toRemove-- > 0 && it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+  }
+
+  private static String digest(String token) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      return KEY_ENCODER.encodeToString(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.autocare360.service;
+
+import com.autocare360.service.TimeLogService.AutoStoppedTimer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stops timers that have been running longer than {@code app.timers.sweeper.max-running-hours},
+ * typically ones left on overnight. Timers are taken oldest first in batches of {@code batch-size},
+ * each batch in its own transaction; the logged time is capped at {@code max-logged-hours} and the
+ * technician is notified once the batch has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AbandonedTimerSweeper {
+
+  private final TimeLogService timeLogService;
+  private final NotificationService notificationService;
+
+  @Value("${app.timers.sweeper.enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.timers.sweeper.max-running-hours:12}")
+  private long maxRunningHours;
+
+  @Value("${app.timers.sweeper.max-logged-hours:8}")
+  private long maxLoggedHours;
+
+  @Value("${app.timers.sweeper.batch-size:200}")
+  private int batchSize;
+
+  // Upper bound on work per run; anything left over is picked up by the next run
+  @Value("${app.timers.sweeper.max-batches:20}")
+  private int maxBatches;
+
+  @Scheduled(
+      initialDelayString = "${app.timers.sweeper.interval-ms:900000}",
+      fixedDelayString = "${app.timers.sweeper.interval-ms:900000}")
+  public void scheduledSweep() {
+    if (!enabled) return;
+    int stopped = sweep(LocalDateTime.now());
+    if (stopped > 0) {
+      log.info("Auto-stopped {} abandoned timers", stopped);
+    }
+  }
+
+  /** Run one sweep as of {@code now}; returns the number of timers stopped. */
+  public int sweep(LocalDateTime now) {
+    LocalDateTime cutoff = now.minusHours(maxRunningHours);
+    Duration maxLogged = Duration.ofHours(maxLoggedHours);
+    int stopped = 0;
+    for (int batch = 0; batch < maxBatches; batch++) {
+      List<AutoStoppedTimer> timers =
+          timeLogService.autoStopTimers(cutoff, batchSize, maxLogged, now);
+      timers.forEach(this::notifyTechnician);
+      stopped += timers.size();
+      if (timers.size() < batchSize) break;
+    }
+    return stopped;
+  }
+
+  private void notifyTechnician(AutoStoppedTimer timer) {
+    try {
+      notificationService.notifyTimerAutoStopped(
+          timer.employeeId(),
+          timer.timerId(),
+          timer.appointmentId(),
+          timer.startTime(),
+          timer.hours());
+    } catch (RuntimeException e) {
+      log.warn(
+          "Could not notify employee {} about auto-stopped timer {}: {}",
+          timer.employeeId(),
+          timer.timerId(),
+          e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package com.autocare360.service;
+
+import com.autocare360.dto.ActiveTimer;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.Timer;
+import com.autocare360.exception.ConflictException;
+import com.autocare360.exception.ResourceNotFoundException;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.repo.TimerRepository;
+import com.autocare360.security.UserPrincipalCache;
+import com.autocare360.util.AfterCommit;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Running timers keyed by employee, loaded from {@code timers} on startup so the polled "active
+ * timer" view never touches the database. Starts and stops are still written to {@code timers} in
+ * the caller's transaction; the registry changes only once that transaction commits.
+ *
+ * <p>Optionally pushes an elapsed-time tick for each running timer to {@code /user/queue/timer}, so
+ * clients can drop polling. The map is per process; docs/DEPLOYMENT.md covers running replicas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveTimerRegistry {
+
+  // Holds an employee's slot while their start is in flight so a second start is rejected
+  private static final ActiveTimer STARTING = new ActiveTimer(null, null, null, null, null);
+
+  private final TimerRepository timerRepository;
+  private final EmployeeRepository employeeRepository;
+  private final AppointmentRepository appointmentRepository;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final UserPrincipalCache principalCache;
+
+  @Value("${app.timers.ticks.enabled:false}")
+  private boolean ticksEnabled;
+
+  private final Map<Long, ActiveTimer> active = new ConcurrentHashMap<>();
+
+  public Optional<ActiveTimer> find(Long employeeId) {
+    ActiveTimer timer = active.get(employeeId);
+    return timer == null || timer == STARTING ? Optional.empty() : Optional.of(timer);
+  }
+
+  public int size() {
+    return (int) active.values().stream().filter(t -> t != STARTING).count();
+  }
+
+  /**
+   * Start a timer for the employee on the appointment.
+   *
+   * @throws ConflictException if the employee already has a running timer
+   * @throws ResourceNotFoundException if the employee or appointment does not exist
+   */
+  @Transactional
+  public ActiveTimer start(Long employeeId, Long appointmentId) {
+    if (active.putIfAbsent(employeeId, STARTING) != null) {
+      throw new ConflictException("You already have an active timer running");
+    }
+    try {
+      if (!employeeRepository.existsById(employeeId)) {
+        throw new ResourceNotFoundException("Employee not found");
+      }
+      Appointment appointment =
+          appointmentRepository
+              .findById(appointmentId)
+              .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
+
+      Timer timer = new Timer(employeeRepository.getReferenceById(employeeId), appointment);
+      timer.setIsActive(true);
+      Timer saved = timerRepository.save(timer);
+
+      ActiveTimer started =
+          new ActiveTimer(
+              saved.getId(),
+              employeeId,
+              appointment.getId(),
+              saved.getProjectName(),
+              saved.getStartTime());
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status == STATUS_COMMITTED) {
+                active.put(employeeId, started);
+              } else {
+                active.remove(employeeId, STARTING);
+              }
+            }
+          });
+      return started;
+    } catch (RuntimeException e) {
+      active.remove(employeeId, STARTING);
+      throw e;
+    }
+  }
+
+  /** Drop the employee's timer once the caller's transaction, which stopped it, commits. */
+  public void onStopped(Long employeeId, Long timerId) {
+    AfterCommit.run(
+        () -> {
+          ActiveTimer timer = active.get(employeeId);
+          if (timer != null && timerId.equals(timer.timerId())) {
+            active.remove(employeeId, timer);
+          }
+        });
+  }
+
+  /**
+   * Merge the running timers in {@code timers} into the registry. Starts still in flight keep their
+   * slot, and a timer started while the rows were being read is not dropped.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void load() {
+    LocalDateTime loadedAt = LocalDateTime.now();
+    Map<Long, ActiveTimer> loaded = new HashMap<>();
+    for (ActiveTimer timer : timerRepository.findActiveTimers()) {
+      ActiveTimer previous = loaded.put(timer.employeeId(), timer);
+      if (previous != null) {
+        log.warn(
+            "Employee {} has several active timers ({}, {}); keeping the latest",
+            timer.employeeId(),
+            previous.timerId(),
+            timer.timerId());
+        if (previous.startTime().isAfter(timer.startTime())) {
+          loaded.put(timer.employeeId(), previous);
+        }
+      }
+    }
+    loaded.forEach(
+        (employeeId, timer) ->
+            active.compute(employeeId, (id, current) -> current == STARTING ? current : timer));
+    active
+        .entrySet()
+        .removeIf(
+            entry ->
+                entry.getValue() != STARTING
+                    && !loaded.containsKey(entry.getKey())
+                    && entry.getValue().startTime().isBefore(loadedAt));
+    log.info("Loaded {} active timers", loaded.size());
+  }
+
+  @Scheduled(fixedRateString = "${app.timers.ticks.interval-ms:5000}")
+  public void pushTicks() {
+    if (!ticksEnabled || active.isEmpty()) return;
+    LocalDateTime now = LocalDateTime.now();
+    for (ActiveTimer timer : active.values()) {
+      if (timer == STARTING) continue;
+      try {
+        String user = principalCache.emailFor(timer.employeeId());
+        if (user == null) continue;
+        messagingTemplate.convertAndSendToUser(user, "/queue/timer", timer.toResponse(now));
+      } catch (RuntimeException e) {
+        log.debug("Timer tick for employee {} failed: {}", timer.employeeId(), e.getMessage());
+      }
+    }
+  }
+}
@@ -3,27 +3,51 @@ package com.autocare360.service;
 import com.autocare360.dto.AppointmentRequest;
 import com.autocare360.dto.AppointmentResponse;
 import com.autocare360.dto.AvailabilityResponse;
+import com.autocare360.dto.FreeSlotDTO;
+import com.autocare360.dto.TechnicianRow;
 import com.autocare360.entity.Appointment;
 import com.autocare360.entity.User;
+import com.autocare360.exception.ConflictException;
 import com.autocare360.repo.AppointmentRepository;
 import com.autocare360.repo.UserRepository;
+import com.autocare360.util.ServiceDurations;
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AppointmentService {
 
+  private static final String ACTIVE_SLOT_CONSTRAINT = "uk_appointments_active_slot";
+  private static final BigDecimal MAX_ESTIMATED_HOURS = BigDecimal.valueOf(24);
+
   private final AppointmentRepository appointmentRepository;
   private final UserRepository userRepository;
   private final SimpMessagingTemplate messagingTemplate;
+  private final TaskDistributionService taskDistribution;
+  private final DataVersionService dataVersions;
+  private final AvailabilityIndex availability;
+  private final TechnicianDirectory technicianDirectory;
+  private final BookingLocks bookingLocks;
+
+  @Value("${app.availability.max-horizon-days:186}")
+  private int maxHorizonDays;
+
+  @Value("${app.availability.max-free-slots:50}")
+  private int maxFreeSlots;
 
   @Transactional(readOnly = true)
   public List<AppointmentResponse> listByUser(Long userId) {
@@ -69,34 +93,23 @@ public class AppointmentService {
     appointment.setStatus(request.getStatus() != null ? request.getStatus() : "PENDING");
     appointment.setNotes(request.getNotes());
     appointment.setTechnician(request.getTechnician());
+    appointment.setEstimatedHours(validEstimate(request.getEstimatedHours()));
 
-    // If technician is specified, find and assign user (employee from users table)
+    // If technician is specified, assign their user (employee from users table) by reference
     if (request.getTechnician() != null && !request.getTechnician().isEmpty()) {
-      System.out.println("[AppointmentService] Looking for technician: " + request.getTechnician());
-      final Appointment appt = appointment; // Make final for lambda
-
-      // Find in User table by name
-      userRepository
-          .findByName(request.getTechnician())
-          .ifPresent(
-              employeeUser -> {
-                System.out.println(
-                    "[AppointmentService] Found user: "
-                        + employeeUser.getName()
-                        + ", ID: "
-                        + employeeUser.getId()
-                        + ", employeeNo: "
-                        + employeeUser.getEmployeeNo());
-                appt.setAssignedUser(employeeUser);
-              });
-
-      if (appointment.getAssignedUser() == null) {
-        System.out.println(
-            "[AppointmentService] WARNING: No user found with name: " + request.getTechnician());
+      Long technicianId = technicianDirectory.idOf(request.getTechnician());
+      if (technicianId != null) {
+        appointment.setAssignedUser(userRepository.getReferenceById(technicianId));
+      } else {
+        log.warn("No technician found with name {}", request.getTechnician());
       }
     }
 
-    appointment = appointmentRepository.save(appointment);
+    reserve(null, AvailabilityIndex.bookingOf(appointment));
+    appointment = saveBooking(appointment);
+    taskDistribution.onSaved(null, appointment);
+    availability.onSaved(null, appointment);
+    dataVersions.bump(appointment.getUserId(), assignedUserId(appointment));
 
     // Log after save
     System.out.println(
@@ -126,8 +139,29 @@ public class AppointmentService {
         appointmentRepository
             .findById(id)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
+    TaskDistributionService.RollupKey before = TaskDistributionService.keyOf(appointment);
+    AvailabilityIndex.Booking bookedBefore = AvailabilityIndex.bookingOf(appointment);
+    BigDecimal estimatedHours =
+        request.getEstimatedHours() != null
+            ? validEstimate(request.getEstimatedHours())
+            : appointment.getEstimatedHours();
+    // A name that belongs to no technician leaves the job with the technician it had
+    Long technicianId = technicianDirectory.idOf(request.getTechnician());
+    // Claimed before the entity changes, so no flush of the edit can reach the slot check
+    reserve(
+        bookedBefore,
+        AvailabilityIndex.bookingOf(
+            appointment.getId(),
+            request.getDate() != null ? request.getDate() : appointment.getDate(),
+            request.getTime() != null ? request.getTime() : appointment.getTime(),
+            technicianId != null ? technicianId : assignedUserId(appointment),
+            request.getStatus() != null ? request.getStatus() : appointment.getStatus(),
+            ServiceDurations.minutesFor(
+                request.getService() != null ? request.getService() : appointment.getService(),
+                estimatedHours)));
 
     if (request.getService() != null) appointment.setService(request.getService());
+    appointment.setEstimatedHours(estimatedHours);
     if (request.getVehicle() != null) appointment.setVehicle(request.getVehicle());
     if (request.getDate() != null) appointment.setDate(request.getDate());
     if (request.getTime() != null) appointment.setTime(request.getTime());
@@ -135,21 +169,18 @@ public class AppointmentService {
     if (request.getNotes() != null) appointment.setNotes(request.getNotes());
     if (request.getTechnician() != null) {
       appointment.setTechnician(request.getTechnician());
-      // Update assigned user if technician name is provided (users with employee_no are employees)
-      final Appointment appt = appointment; // Make final for lambda
-
-      userRepository
-          .findByName(request.getTechnician())
-          .ifPresent(
-              employeeUser -> {
-                if (employeeUser.getEmployeeNo() != null
-                    && !employeeUser.getEmployeeNo().isEmpty()) {
-                  appt.setAssignedUser(employeeUser);
-                }
-              });
+    }
+    if (technicianId != null) {
+      appointment.setAssignedUser(userRepository.getReferenceById(technicianId));
     }
 
-    appointment = appointmentRepository.save(appointment);
+    appointment = saveBooking(appointment);
+    taskDistribution.onSaved(before, appointment);
+    availability.onSaved(bookedBefore, appointment);
+    dataVersions.bump(
+        appointment.getUserId(),
+        before != null ? before.assignedUserId() : null,
+        assignedUserId(appointment));
     AppointmentResponse response = toResponse(appointment);
 
     // Broadcast status update to admin dashboard
@@ -175,80 +206,155 @@ public class AppointmentService {
     return response;
   }
 
+  /**
+   * Save a job whose status is changed outside {@link #update}, such as the employee dashboard's
+   * job actions. The new status claims the job's time like any other booking change, so reviving a
+   * cancelled job cannot take back a time someone else has booked since.
+   *
+   * @throws ConflictException if the technician has another booking overlapping the job's time
+   */
+  @Transactional
+  public Appointment saveStatus(Appointment appointment, String status) {
+    TaskDistributionService.RollupKey before = TaskDistributionService.keyOf(appointment);
+    AvailabilityIndex.Booking bookedBefore = AvailabilityIndex.bookingOf(appointment);
+    // Claimed before the status changes, as in update
+    reserve(
+        bookedBefore,
+        AvailabilityIndex.bookingOf(
+            appointment.getId(),
+            appointment.getDate(),
+            appointment.getTime(),
+            assignedUserId(appointment),
+            status,
+            ServiceDurations.minutesFor(
+                appointment.getService(), appointment.getEstimatedHours())));
+    appointment.setStatus(status);
+
+    Appointment saved = saveBooking(appointment);
+    taskDistribution.onSaved(before, saved);
+    availability.onSaved(bookedBefore, saved);
+    return saved;
+  }
+
   @Transactional
   public void delete(Long id) {
-    appointmentRepository.deleteById(id);
+    appointmentRepository
+        .findById(id)
+        .ifPresent(
+            appointment -> {
+              appointmentRepository.delete(appointment);
+              taskDistribution.onDeleted(appointment);
+              availability.onDeleted(appointment);
+              dataVersions.bump(appointment.getUserId(), assignedUserId(appointment));
+            });
   }
 
-  @Transactional(readOnly = true)
-  public AvailabilityResponse getAvailability(LocalDate date, String technician) {
+  /**
+   * Free start times on {@code date} for one technician, or, without one, the times at which at
+   * least one technician is free, for a job as long as {@code service} usually takes (an hour when
+   * null). Served from the {@link AvailabilityIndex}.
+   */
+  public AvailabilityResponse getAvailability(LocalDate date, String technician, String service) {
     AvailabilityResponse response = new AvailabilityResponse();
+    List<TechnicianRow> technicians = techniciansNamed(technician);
+    int minutes = ServiceDurations.minutesFor(service);
+    response.setTimeSlots(
+        AvailabilityIndex.slotTimes(
+            availability.freeSlots(
+                date, technicians.stream().map(TechnicianRow::id).toList(), minutes)));
+    response.setAvailableTechnicians(technicians.stream().map(TechnicianRow::name).toList());
+    return response;
+  }
 
-    // Define working hours (9 AM to 5 PM with 1-hour slots)
-    List<String> allTimeSlots = generateTimeSlots();
+  /**
+   * The earliest {@code count} free start times from {@code from} (today when null) over the next
+   * {@code days} days, for one technician or any of them. Start times on today that have already
+   * begun are skipped. A start time counts as free only if the whole job fits before the
+   * technician's next booking and before midnight.
+   */
+  public List<FreeSlotDTO> findNextFreeSlots(
+      String service, String technician, LocalDate from, int days, int count) {
+    if (service == null || service.isBlank()) {
+      throw new IllegalArgumentException("Service is required");
+    }
+    if (days < 1 || days > maxHorizonDays) {
+      throw new IllegalArgumentException("Days must be between 1 and " + maxHorizonDays);
+    }
+    if (count < 1 || count > maxFreeSlots) {
+      throw new IllegalArgumentException("Count must be between 1 and " + maxFreeSlots);
+    }
+    LocalDateTime now = LocalDateTime.now();
+    LocalDate start = from == null || from.isBefore(now.toLocalDate()) ? now.toLocalDate() : from;
+    int firstSlot =
+        start.equals(now.toLocalDate()) ? AvailabilityIndex.slotOf(now.toLocalTime()) + 1 : 0;
+    return availability.nextFreeSlots(
+        start,
+        firstSlot,
+        days,
+        techniciansNamed(technician),
+        ServiceDurations.minutesFor(service),
+        count);
+  }
 
-    if (technician != null && !technician.isEmpty()) {
-      // Get booked times for this specific technician
-      List<Appointment> bookedAppointments =
-          appointmentRepository.findByDateAndTechnicianAndStatusNot(date, technician, "CANCELLED");
+  // The named technician (id null if the name is no technician's, so nothing blocks it), or all
+  private List<TechnicianRow> techniciansNamed(String technician) {
+    return technician != null && !technician.isEmpty()
+        ? List.of(new TechnicianRow(technicianDirectory.idOf(technician), technician))
+        : technicianDirectory.technicians();
+  }
 
-      List<String> bookedTimes =
-          bookedAppointments.stream()
-              .map(a -> a.getTime().toString().substring(0, 5))
-              .collect(Collectors.toList());
+  /**
+   * Claim the time of {@code after} unless the appointment already held it ({@code before}). A time
+   * overlapping another booking is rejected straight away; otherwise the (technician, day) lock is
+   * held until commit and the time checked again under it.
+   *
+   * @throws ConflictException if the technician has another booking overlapping that time
+   */
+  private void reserve(AvailabilityIndex.Booking before, AvailabilityIndex.Booking after) {
+    if (after == null || after.equals(before)) return;
+    requireFree(after);
+    bookingLocks.lockUntilCompletion(after.technicianId(), after.date());
+    requireFree(after);
+  }
 
-      // Filter out booked times
-      List<String> availableSlots =
-          allTimeSlots.stream()
-              .filter(slot -> !bookedTimes.contains(slot))
-              .collect(Collectors.toList());
+  private void requireFree(AvailabilityIndex.Booking booking) {
+    if (availability.isTaken(booking)) {
+      throw new ConflictException(
+          ConflictException.SLOT_TAKEN,
+          "The technician is already booked at that time on " + booking.date());
+    }
+  }
 
-      response.setTimeSlots(availableSlots);
-      response.setAvailableTechnicians(List.of(technician));
-    } else {
-      // Get all appointments for this date
-      List<Appointment> allAppointments =
-          appointmentRepository.findByDateAndTimeAndStatusNot(date, null, "CANCELLED");
-
-      // Get all users with employee_no (employees)
-      List<User> allEmployees =
-          userRepository.findAll().stream()
-              .filter(u -> u.getEmployeeNo() != null && !u.getEmployeeNo().isEmpty())
-              .collect(Collectors.toList());
-      List<String> allTechnicianNames =
-          allEmployees.stream().map(User::getName).collect(Collectors.toList());
-
-      // For each time slot, find available technicians
-      List<String> availableSlots = new ArrayList<>();
-      for (String timeSlot : allTimeSlots) {
-        LocalTime slotTime = LocalTime.parse(timeSlot + ":00");
-        List<String> busyTechnicians =
-            allAppointments.stream()
-                .filter(a -> a.getTime().equals(slotTime))
-                .map(Appointment::getTechnician)
-                .filter(t -> t != null && !t.isEmpty())
-                .collect(Collectors.toList());
-
-        // If there are available technicians for this slot, include it
-        if (busyTechnicians.size() < allTechnicianNames.size()) {
-          availableSlots.add(timeSlot);
-        }
-      }
+  private static BigDecimal validEstimate(BigDecimal estimatedHours) {
+    if (estimatedHours != null
+        && (estimatedHours.signum() <= 0 || estimatedHours.compareTo(MAX_ESTIMATED_HOURS) > 0)) {
+      throw new IllegalArgumentException(
+          "Estimated hours must be more than 0 and at most " + MAX_ESTIMATED_HOURS);
+    }
+    return estimatedHours;
+  }
 
-      response.setTimeSlots(availableSlots);
-      response.setAvailableTechnicians(allTechnicianNames);
+  // Flushes so a slot taken on another instance surfaces here as a conflict, not at commit
+  private Appointment saveBooking(Appointment appointment) {
+    try {
+      return appointmentRepository.saveAndFlush(appointment);
+    } catch (DataIntegrityViolationException e) {
+      if (isActiveSlotViolation(e)) {
+        throw new ConflictException(
+            ConflictException.SLOT_TAKEN, "The technician is already booked at that time");
+      }
+      throw e;
     }
+  }
 
-    return response;
+  private static boolean isActiveSlotViolation(DataIntegrityViolationException e) {
+    return e.getCause() instanceof ConstraintViolationException violation
+        && violation.getConstraintName() != null
+        && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(ACTIVE_SLOT_CONSTRAINT);
   }
 
-  private List<String> generateTimeSlots() {
-    List<String> slots = new ArrayList<>();
-    // Generate slots from 00:00 to 23:00 (24 hours) with 1-hour gap
-    for (int hour = 0; hour < 24; hour++) {
-      slots.add(String.format("%02d:00", hour));
-    }
-    return slots;
+  private static Long assignedUserId(Appointment appointment) {
+    return appointment.getAssignedUser() != null ? appointment.getAssignedUser().getId() : null;
   }
 
   private AppointmentResponse toResponse(Appointment appointment) {
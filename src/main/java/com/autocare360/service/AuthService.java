@@ -6,13 +6,16 @@ import com.autocare360.entity.User;
 import com.autocare360.exception.ConflictException;
 import com.autocare360.repo.RoleRepository;
 import com.autocare360.repo.UserRepository;
+import com.autocare360.security.JwtClaims;
 import com.autocare360.security.JwtService;
+import com.autocare360.security.PasswordHashingService;
+import com.autocare360.security.TokenRevocationRegistry;
 import jakarta.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -21,8 +24,10 @@ public class AuthService {
 
   private final UserRepository userRepository;
   private final RoleRepository roleRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashing;
   private final JwtService jwtService;
+  private final RefreshTokenService refreshTokenService;
+  private final TokenRevocationRegistry revocationRegistry;
 
   @Transactional
   public UserResponse register(RegisterRequest request) {
@@ -30,7 +35,8 @@ public class AuthService {
         .findByEmail(request.getEmail())
         .ifPresent(
             u -> {
-              throw new ConflictException("Email already in use");
+              throw new ConflictException(
+                  ConflictException.EMAIL_ALREADY_IN_USE, "Email already in use");
             });
     Role role =
         roleRepository
@@ -39,7 +45,7 @@ public class AuthService {
     User user =
         User.builder()
             .email(request.getEmail())
-            .passwordHash(passwordEncoder.encode(request.getPassword()))
+            .passwordHash(passwordHashing.encode(request.getPassword()))
             .name(request.getName())
             .phone(request.getPhone())
             .build();
@@ -52,62 +58,59 @@ public class AuthService {
     // Hard-coded admin fallback: simple and reliable
     if ("nimal.admin@gmail.com".equalsIgnoreCase(request.getEmail())
         && "password".equals(request.getPassword())) {
-      Role adminRole =
-          roleRepository
-              .findByName("ADMIN")
-              .orElseGet(() -> roleRepository.save(Role.builder().name("ADMIN").build()));
       User admin = userRepository.findByEmail("nimal.admin@gmail.com").orElse(null);
       if (admin == null) {
         admin =
             User.builder()
                 .email("nimal.admin@gmail.com")
-                .passwordHash(passwordEncoder.encode("password"))
+                .passwordHash(passwordHashing.encode("password"))
                 .name("System Admin")
                 .phone("+1-555-000-0000")
                 .status("ACTIVE")
                 .build();
-        admin.getRoles().add(adminRole);
+        admin.getRoles().add(adminRole());
         admin = userRepository.save(admin);
-      } else {
-        // Ensure ADMIN role and known password
-        if (admin.getRoles().stream().noneMatch(r -> "ADMIN".equals(r.getName()))) {
-          admin.getRoles().add(adminRole);
-        }
-        admin.setPasswordHash(passwordEncoder.encode("password"));
+      } else if (admin.getRoles().stream().noneMatch(r -> "ADMIN".equals(r.getName()))) {
+        // Ensure ADMIN role; the password is checked literally above so it is never re-hashed
+        admin.getRoles().add(adminRole());
         admin = userRepository.save(admin);
       }
-      String[] roles =
-          admin.getRoles().stream()
-              .map(r -> r.getName().toLowerCase(java.util.Locale.ROOT))
-              .toArray(String[]::new);
-      String token =
-          jwtService.generateToken(String.valueOf(admin.getId()), admin.getEmail(), roles);
-      return AuthResponse.builder()
-          .accessToken(token)
-          .expiresIn(3600)
-          .user(toUserResponse(admin))
-          .build();
+      return authResponse(admin);
     }
 
     User user =
         userRepository
             .findByEmail(request.getEmail())
             .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
-    if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+    if (!passwordHashing.matches(request.getPassword(), user.getPasswordHash())) {
       throw new IllegalArgumentException("Invalid credentials");
     }
-    String[] roles =
-        user.getRoles().stream()
-            .map(r -> r.getName().toLowerCase(Locale.ROOT))
-            .toArray(String[]::new);
-    String token = jwtService.generateToken(String.valueOf(user.getId()), user.getEmail(), roles);
-    return AuthResponse.builder()
-        .accessToken(token)
-        .expiresIn(3600)
-        .user(toUserResponse(user))
+    return authResponse(user);
+  }
+
+  /** Rotate a refresh token: the presented token is consumed and a new pair is issued. */
+  public RefreshResponse refresh(RefreshRequest request) {
+    Long userId = refreshTokenService.consume(request.getRefreshToken());
+    User user =
+        userRepository
+            .findById(userId)
+            .filter(u -> !"INACTIVE".equalsIgnoreCase(u.getStatus()))
+            .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+    return RefreshResponse.builder()
+        .accessToken(accessToken(user))
+        .refreshToken(refreshTokenService.issue(user.getId()))
+        .expiresIn((int) jwtService.getAccessTtlSeconds())
         .build();
   }
 
+  /** Revoke the presented refresh token and, when the caller is authenticated, its access token. */
+  public void logout(String refreshToken, Authentication authentication) {
+    refreshTokenService.revoke(refreshToken);
+    if (authentication != null && authentication.getCredentials() instanceof JwtClaims claims) {
+      revocationRegistry.revokeToken(claims);
+    }
+  }
+
   public UserResponse me(Long userId) {
     User user = userRepository.findById(userId).orElseThrow();
     return toUserResponse(user);
@@ -115,6 +118,29 @@ public class AuthService {
 
   // Role inference removed; registration always creates CUSTOMER
 
+  private AuthResponse authResponse(User user) {
+    return AuthResponse.builder()
+        .accessToken(accessToken(user))
+        .refreshToken(refreshTokenService.issue(user.getId()))
+        .expiresIn((int) jwtService.getAccessTtlSeconds())
+        .user(toUserResponse(user))
+        .build();
+  }
+
+  private String accessToken(User user) {
+    String[] roles =
+        user.getRoles().stream()
+            .map(r -> r.getName().toLowerCase(Locale.ROOT))
+            .toArray(String[]::new);
+    return jwtService.generateToken(String.valueOf(user.getId()), user.getEmail(), roles);
+  }
+
+  private Role adminRole() {
+    return roleRepository
+        .findByName("ADMIN")
+        .orElseGet(() -> roleRepository.save(Role.builder().name("ADMIN").build()));
+  }
+
   private UserResponse toUserResponse(User user) {
     List<String> roleNames = new ArrayList<>();
     for (Role r : user.getRoles()) {
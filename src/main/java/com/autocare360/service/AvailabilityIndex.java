@@ -0,0 +1,341 @@
+package com.autocare360.service;
+
+import com.autocare360.dto.BookedSlotRow;
+import com.autocare360.dto.FreeSlotDTO;
+import com.autocare360.dto.TechnicianRow;
+import com.autocare360.entity.Appointment;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.util.AfterCommit;
+import com.autocare360.util.ServiceDurations;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Every technician's bookings per day as intervals of minutes, each running from the booking's
+ * start for its job length ({@link ServiceDurations}). Technicians are keyed by their assigned user
+ * id, as are the booking locks and {@code uk_appointments_active_slot}; bookings whose technician
+ * name resolved to no user block nothing. A day is loaded with one query the first time it is asked
+ * for (multi-day searches load a month per query); after that availability for any set of
+ * technicians is answered from memory with no database access.
+ *
+ * <p>{@link AppointmentService} reports every booking change once its transaction commits. A new
+ * booking is inserted in place; a booking that is moved, cancelled or deleted drops its old day,
+ * which is reloaded on the next read. Changes made by another replica are not reported here; see
+ * docs/DEPLOYMENT.md.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+
+  public static final int SLOTS_PER_DAY = 24;
+  public static final int ALL_SLOTS = (1 << SLOTS_PER_DAY) - 1;
+  public static final int MINUTES_PER_SLOT = 60;
+  public static final int MINUTES_PER_DAY = SLOTS_PER_DAY * MINUTES_PER_SLOT;
+  // Days fetched per query when a multi-day search reaches days not yet loaded
+  private static final int PRELOAD_DAYS = 31;
+  private static final String[] SLOT_TIMES = new String[SLOTS_PER_DAY];
+
+  static {
+    for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+      SLOT_TIMES[slot] = String.format("%02d:00", slot);
+    }
+  }
+
+  private final AppointmentRepository appointmentRepository;
+
+  // technician id -> schedule per day; a loaded day with no bookings maps to an empty map
+  private final Map<LocalDate, Map<Long, Schedule>> days = new ConcurrentHashMap<>();
+  // Bumped by every change so a day load that raced with one is not kept
+  private final AtomicLong changes = new AtomicLong();
+
+  /**
+   * The minutes {@code [start, end)} of its day that an appointment keeps its technician busy; null
+   * when it blocks nothing. Jobs running past midnight are cut off at the end of their start day.
+   */
+  public record Booking(
+      Long appointmentId, LocalDate date, Long technicianId, int start, int end) {}
+
+  public static Booking bookingOf(Appointment appointment) {
+    if (appointment == null) return null;
+    return bookingOf(
+        appointment.getId(),
+        appointment.getDate(),
+        appointment.getTime(),
+        appointment.getAssignedUser() != null ? appointment.getAssignedUser().getId() : null,
+        appointment.getStatus(),
+        ServiceDurations.minutesFor(appointment.getService(), appointment.getEstimatedHours()));
+  }
+
+  public static Booking bookingOf(
+      Long appointmentId,
+      LocalDate date,
+      LocalTime time,
+      Long technicianId,
+      String status,
+      int minutes) {
+    if (date == null || time == null || technicianId == null || "CANCELLED".equals(status)) {
+      return null;
+    }
+    int start = time.getHour() * MINUTES_PER_SLOT + time.getMinute();
+    return new Booking(
+        appointmentId, date, technicianId, start, Math.min(start + minutes, MINUTES_PER_DAY));
+  }
+
+  private static Booking bookingOf(BookedSlotRow row) {
+    return bookingOf(
+        row.appointmentId(),
+        row.date(),
+        row.time(),
+        row.technicianId(),
+        null,
+        ServiceDurations.minutesFor(row.service(), row.estimatedHours()));
+  }
+
+  public static int slotOf(LocalTime time) {
+    return time.getHour();
+  }
+
+  /** "HH:mm" start times of the slots set in {@code mask}, in order. */
+  public static List<String> slotTimes(int mask) {
+    List<String> times = new ArrayList<>(Integer.bitCount(mask));
+    for (int bits = mask; bits != 0; bits &= bits - 1) {
+      times.add(SLOT_TIMES[Integer.numberOfTrailingZeros(bits)]);
+    }
+    return times;
+  }
+
+  // Slots touched by the minutes [start, end)
+  private static int slotsOf(int start, int end) {
+    int first = start / MINUTES_PER_SLOT;
+    int last = (end - 1) / MINUTES_PER_SLOT;
+    return ((1 << (last + 1)) - 1) & -(1 << first);
+  }
+
+  // Slots a job of this length can start in and still finish by midnight
+  private static int startsFitting(int minutes) {
+    int lastStart = (MINUTES_PER_DAY - minutes) / MINUTES_PER_SLOT;
+    return lastStart < 0 ? 0 : ALL_SLOTS >>> (SLOTS_PER_DAY - 1 - lastStart);
+  }
+
+  /**
+   * One technician's bookings on one day, ordered by start minute. Only a booking starting less
+   * than {@code longest} minutes before an interval can reach into it, so an overlap check walks
+   * just the bookings starting in that window: O(log n) plus the few bookings near the interval,
+   * and correct even where older bookings overlap each other. {@code slots} marks every hour
+   * touched by a booking and answers most checks alone; while every booking starts and ends on the
+   * hour it answers all of them.
+   */
+  static final class Schedule {
+
+    // (start minute << 32 | insertion number), so bookings sharing a start are all kept
+    private final NavigableMap<Long, Booking> bookings = new ConcurrentSkipListMap<>();
+    private int added;
+    private volatile int longest;
+    private volatile int slots;
+    private volatile boolean onTheHour = true;
+
+    synchronized void add(Booking booking) {
+      bookings.put(((long) booking.start() << 32) | added++, booking);
+      longest = Math.max(longest, booking.end() - booking.start());
+      slots |= slotsOf(booking.start(), booking.end());
+      if (booking.start() % MINUTES_PER_SLOT != 0 || booking.end() % MINUTES_PER_SLOT != 0) {
+        onTheHour = false;
+      }
+    }
+
+    /** Whether {@code [start, end)} overlaps a booking other than appointment {@code ignored}. */
+    boolean overlaps(int start, int end, Long ignored) {
+      if ((slots & slotsOf(start, end)) == 0) return false;
+      long from = (long) (start - longest + 1) << 32;
+      long to = (long) end << 32;
+      for (Booking booking : bookings.subMap(from, true, to, false).values()) {
+        if (booking.end() > start
+            && (ignored == null || !ignored.equals(booking.appointmentId()))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /** Slots in which a job of {@code minutes} can start without overlapping a booking. */
+    int freeStarts(int minutes) {
+      int fitting = startsFitting(minutes);
+      int span = (minutes + MINUTES_PER_SLOT - 1) / MINUTES_PER_SLOT;
+      int touched = slots;
+      int blocked = 0;
+      for (int i = 0; i < span; i++) {
+        blocked |= touched >>> i;
+      }
+      int free = fitting & ~blocked;
+      if (onTheHour) return free;
+      for (int bits = fitting & blocked; bits != 0; bits &= bits - 1) {
+        int start = Integer.numberOfTrailingZeros(bits) * MINUTES_PER_SLOT;
+        if (!overlaps(start, start + minutes, null)) free |= bits & -bits;
+      }
+      return free;
+    }
+  }
+
+  // ================== READS ==================
+
+  /** Hours of {@code date} in which one technician has a booking running. */
+  public int occupancy(LocalDate date, Long technicianId) {
+    Schedule schedule = scheduleOf(day(date), technicianId);
+    return schedule != null ? schedule.slots : 0;
+  }
+
+  /** Whether the booking's technician has another live booking overlapping it. */
+  public boolean isTaken(Booking booking) {
+    Schedule schedule = day(booking.date()).get(booking.technicianId());
+    return schedule != null
+        && schedule.overlaps(booking.start(), booking.end(), booking.appointmentId());
+  }
+
+  /**
+   * Slots on {@code date} in which at least one of the technicians with {@code technicianIds} can
+   * start a job of {@code minutes} and finish it by midnight. A null id stands for a technician
+   * with no bookings.
+   */
+  public int freeSlots(LocalDate date, Collection<Long> technicianIds, int minutes) {
+    return freeSlots(day(date), technicianIds, minutes);
+  }
+
+  /**
+   * The first {@code count} start times, from slot {@code firstSlot} on {@code from} onwards and
+   * within {@code horizonDays} days, at which at least one of {@code technicians} is free for a job
+   * of {@code minutes}. Days are loaded a month at a time as the scan reaches them, and the scan
+   * stops once {@code count} slots are found.
+   */
+  public List<FreeSlotDTO> nextFreeSlots(
+      LocalDate from,
+      int firstSlot,
+      int horizonDays,
+      List<TechnicianRow> technicians,
+      int minutes,
+      int count) {
+    List<FreeSlotDTO> found = new ArrayList<>(count);
+    LocalDate last = from.plusDays(horizonDays - 1L);
+    for (LocalDate date = from;
+        !date.isAfter(last) && found.size() < count;
+        date = date.plusDays(1)) {
+      if (!days.containsKey(date)) {
+        LocalDate chunkEnd = date.plusDays(PRELOAD_DAYS - 1L);
+        load(date, chunkEnd.isAfter(last) ? last : chunkEnd);
+      }
+      Map<Long, Schedule> schedules = day(date);
+      int free =
+          freeSlots(schedules, technicians.stream().map(TechnicianRow::id).toList(), minutes);
+      if (date.equals(from)) {
+        free &= ALL_SLOTS << firstSlot;
+      }
+      for (int bits = free; bits != 0 && found.size() < count; bits &= bits - 1) {
+        int slot = Integer.numberOfTrailingZeros(bits);
+        int start = slot * MINUTES_PER_SLOT;
+        List<String> freeTechnicians = new ArrayList<>();
+        for (TechnicianRow technician : technicians) {
+          Schedule schedule = scheduleOf(schedules, technician.id());
+          if (schedule == null || !schedule.overlaps(start, start + minutes, null)) {
+            freeTechnicians.add(technician.name());
+          }
+        }
+        found.add(new FreeSlotDTO(date, SLOT_TIMES[slot], freeTechnicians));
+      }
+    }
+    return found;
+  }
+
+  private static int freeSlots(
+      Map<Long, Schedule> schedules, Collection<Long> technicianIds, int minutes) {
+    int fitting = startsFitting(minutes);
+    int free = 0;
+    for (Long technicianId : technicianIds) {
+      Schedule schedule = scheduleOf(schedules, technicianId);
+      free |= schedule != null ? schedule.freeStarts(minutes) : fitting;
+      if (free == fitting) break;
+    }
+    return free;
+  }
+
+  private static Schedule scheduleOf(Map<Long, Schedule> schedules, Long technicianId) {
+    return technicianId != null ? schedules.get(technicianId) : null;
+  }
+
+  private Map<Long, Schedule> day(LocalDate date) {
+    Map<Long, Schedule> schedules = days.get(date);
+    return schedules != null ? schedules : load(date, date).get(date);
+  }
+
+  /** Load and cache every day from {@code from} to {@code to} with one query. */
+  private Map<LocalDate, Map<Long, Schedule>> load(LocalDate from, LocalDate to) {
+    long loadedAt = changes.get();
+    Map<LocalDate, Map<Long, Schedule>> loaded = new HashMap<>();
+    for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+      loaded.put(date, new ConcurrentHashMap<>());
+    }
+    for (BookedSlotRow row : appointmentRepository.findBookedSlots(from, to)) {
+      Booking booking = bookingOf(row);
+      if (booking == null) continue;
+      loaded
+          .get(booking.date())
+          .computeIfAbsent(booking.technicianId(), t -> new Schedule())
+          .add(booking);
+    }
+    loaded.forEach(days::putIfAbsent);
+    if (changes.get() != loadedAt) {
+      loaded.forEach(days::remove);
+    }
+    return loaded;
+  }
+
+  // ================== WRITES ==================
+
+  /**
+   * Move an appointment from {@code before} (its booking prior to the change, null for a new
+   * appointment) to its current booking, once the caller's transaction commits.
+   */
+  public void onSaved(Booking before, Appointment appointment) {
+    Booking after = bookingOf(appointment);
+    if (Objects.equals(before, after)) return;
+    AfterCommit.run(
+        () -> {
+          changes.incrementAndGet();
+          if (before != null) days.remove(before.date());
+          if (after != null) {
+            Map<Long, Schedule> schedules = days.get(after.date());
+            if (schedules != null) {
+              schedules.computeIfAbsent(after.technicianId(), t -> new Schedule()).add(after);
+            }
+          }
+        });
+  }
+
+  public void onDeleted(Appointment appointment) {
+    Booking booking = bookingOf(appointment);
+    if (booking == null) return;
+    AfterCommit.run(
+        () -> {
+          changes.incrementAndGet();
+          days.remove(booking.date());
+        });
+  }
+
+  /** Forget days that have passed; they are reloaded if anyone still asks for them. */
+  @Scheduled(cron = "${app.availability.evict-cron:0 5 0 * * *}")
+  public void evictPastDays() {
+    LocalDate today = LocalDate.now();
+    days.keySet().removeIf(date -> date.isBefore(today));
+  }
+}
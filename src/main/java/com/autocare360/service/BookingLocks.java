@@ -0,0 +1,63 @@
+package com.autocare360.service;
+
+import com.autocare360.exception.ServiceBusyException;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Striped locks that serialise bookings of the same technician on the same day, so one booking's
+ * slot check and insert cannot interleave with another's while bookings for other technicians or
+ * days go ahead in parallel. A stripe is held until the caller's transaction completes, so the next
+ * booking on it sees the committed one. Only guards this instance; {@code
+ * uk_appointments_active_slot} is the backstop across instances.
+ */
+@Component
+public class BookingLocks {
+
+  private final ReentrantLock[] stripes;
+  private final long waitMillis;
+
+  public BookingLocks(
+      @Value("${app.appointments.booking-lock-stripes:64}") int stripes,
+      @Value("${app.appointments.booking-lock-wait-ms:2000}") long waitMillis) {
+    this.stripes = new ReentrantLock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+    this.waitMillis = waitMillis;
+  }
+
+  /**
+   * Lock the stripe for the technician with user id {@code technicianId} on {@code date} until the
+   * current transaction completes.
+   *
+   * @throws ServiceBusyException if the stripe stays taken for longer than the configured wait
+   */
+  public void lockUntilCompletion(Long technicianId, LocalDate date) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Booking locks must be taken inside a transaction");
+    }
+    ReentrantLock lock = stripes[Math.floorMod(Objects.hash(technicianId, date), stripes.length)];
+    try {
+      if (!lock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+        throw new ServiceBusyException("Booking service is busy, please retry");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServiceBusyException("Booking was interrupted");
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            lock.unlock();
+          }
+        });
+  }
+}
@@ -3,8 +3,11 @@ package com.autocare360.service;
 import com.autocare360.dto.UserResponse;
 import com.autocare360.entity.User;
 import com.autocare360.repo.UserRepository;
+import com.autocare360.security.TokenRevocationRegistry;
+import com.autocare360.security.UserPrincipalCache;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,6 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomerService {
 
   private final UserRepository userRepository;
+  private final TokenRevocationRegistry revocationRegistry;
+  private final UserPrincipalCache principalCache;
+  private final TechnicianDirectory technicianDirectory;
 
   @Transactional(readOnly = true)
   public List<UserResponse> listCustomers() {
@@ -32,16 +38,25 @@ public class CustomerService {
   @Transactional
   public UserResponse updateCustomer(Long id, String name, String phone, String status) {
     User u = userRepository.findById(id).orElseThrow();
+    boolean statusChanged = status != null && !Objects.equals(u.getStatus(), status);
     if (name != null) u.setName(name);
     if (phone != null) u.setPhone(phone);
     if (status != null) u.setStatus(status);
-    return toUserResponse(userRepository.save(u));
+    User saved = userRepository.save(u);
+    if (statusChanged) revocationRegistry.invalidateUser(id);
+    principalCache.evict(id);
+    // Any user id is accepted here, employees included
+    if (name != null) technicianDirectory.invalidate();
+    return toUserResponse(saved);
   }
 
   @Transactional
   public void deleteCustomer(Long id) {
     User u = userRepository.findById(id).orElseThrow();
     userRepository.delete(u);
+    revocationRegistry.invalidateUser(id);
+    principalCache.evict(id);
+    technicianDirectory.invalidate();
   }
 
   private UserResponse toUserResponse(User user) {
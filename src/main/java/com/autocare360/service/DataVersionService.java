@@ -0,0 +1,73 @@
+package com.autocare360.service;
+
+import com.autocare360.entity.DataVersion;
+import com.autocare360.repo.DataVersionRepository;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Monotonic data version per user (employee or customer), used to answer conditional GETs with 304
+ * for one primary-key read instead of the whole view. Writers call {@link #bump(Long...)} for every
+ * user whose dashboards, appointments, time logs, notifications or messages they change.
+ *
+ * <p>Versions are rows in {@code data_versions}, bumped in the writer's transaction: a reader sees
+ * the new version exactly when it can see the new data, and every instance hands out the same tag.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+  // Row whose version is part of every tag; user ids start at 1
+  static final long GLOBAL = 0L;
+
+  private final DataVersionRepository dataVersionRepository;
+
+  @Transactional(readOnly = true)
+  public long versionOf(Long userId) {
+    return dataVersionRepository.findById(userId).map(DataVersion::getVersion).orElse(0L);
+  }
+
+  /** Advance the version of each given user; null ids are ignored. */
+  @Transactional
+  public void bump(Long... userIds) {
+    // Sorted so writers bumping the same users take the row locks in the same order
+    Arrays.stream(userIds)
+        .filter(Objects::nonNull)
+        .distinct()
+        .sorted()
+        .forEach(dataVersionRepository::bump);
+  }
+
+  /**
+   * Invalidate every user's tags at once, for writes visible to many users, e.g. a customer message
+   * to all staff.
+   */
+  @Transactional
+  public void bumpAll() {
+    dataVersionRepository.bump(GLOBAL);
+  }
+
+  /**
+   * Strong ETag for a user's data as of {@code today}. The date is part of the tag because several
+   * views (today's hours and appointments, the current week) change at midnight without any write.
+   */
+  @Transactional(readOnly = true)
+  public String etagFor(Long userId, LocalDate today) {
+    Objects.requireNonNull(userId, "userId");
+    long global = 0L;
+    long user = 0L;
+    for (DataVersion row : dataVersionRepository.findAllById(List.of(GLOBAL, userId))) {
+      if (row.getUserId() == GLOBAL) {
+        global = row.getVersion();
+      } else {
+        user = row.getVersion();
+      }
+    }
+    return "\"" + today.toEpochDay() + "-" + global + "-" + user + "\"";
+  }
+}
@@ -0,0 +1,229 @@
+package com.autocare360.service;
+
+import com.autocare360.dto.DailyHoursRow;
+import com.autocare360.repo.EmployeeDailyHoursRepository;
+import com.autocare360.repo.TimeLogRepository;
+import com.autocare360.util.AfterCommit;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Logged hours per (employee, day), kept as in-memory counters on top of the {@code
+ * employee_daily_hours} rollup table so the dashboards read totals without scanning {@code
+ * time_logs}. Every time log write applies its delta to the rollup in the writer's transaction and
+ * to memory once that transaction commits. Recent days (see {@code window-days}) are held in
+ * memory; older days are read from the rollup.
+ *
+ * <p>Counters assume all time log writes go through {@link TimeLogService}. The scheduled {@link
+ * #checkConsistency(boolean)} repairs any drift. Startup only reads the rollup into memory; the
+ * rollup itself is rebuilt at startup only when it is still empty, e.g. on first deploy.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeHoursCounterService {
+
+  private final EmployeeDailyHoursRepository dailyHoursRepository;
+  private final TimeLogRepository timeLogRepository;
+
+  @Value("${app.time-logs.counters.window-days:62}")
+  private int windowDays;
+
+  private final Map<DayKey, BigDecimal> hoursByDay = new ConcurrentHashMap<>();
+  private final Map<Long, Long> entriesByEmployee = new ConcurrentHashMap<>();
+
+  // Days on or after this date are held in memory; null until the first rebuild completes
+  private volatile LocalDate loadedFrom;
+
+  private record DayKey(Long employeeId, LocalDate date) {}
+
+  // ================== WRITES ==================
+
+  /**
+   * Apply a change of {@code hours} and {@code entries} to one employee day. Must be called inside
+   * the transaction that writes the time log; memory is only updated after it commits.
+   */
+  @Transactional
+  public void apply(Long employeeId, LocalDate date, BigDecimal hours, int entries) {
+    if (employeeId == null || date == null) return;
+    BigDecimal delta = hours == null ? BigDecimal.ZERO : hours;
+    // An upsert, so two first writes to the same day cannot both insert
+    dailyHoursRepository.addToDay(employeeId, date, delta, entries);
+    AfterCommit.run(() -> applyInMemory(employeeId, date, delta, entries));
+  }
+
+  private void applyInMemory(Long employeeId, LocalDate date, BigDecimal hours, int entries) {
+    LocalDate from = loadedFrom;
+    if (from == null) return; // not loaded yet; the rebuild will read the committed rollup
+    if (!date.isBefore(from)) {
+      hoursByDay.merge(new DayKey(employeeId, date), hours, BigDecimal::add);
+    }
+    if (entries != 0) {
+      entriesByEmployee.merge(employeeId, (long) entries, Long::sum);
+    }
+  }
+
+  // ================== READS ==================
+
+  public BigDecimal hoursOn(Long employeeId, LocalDate date) {
+    return hoursBetween(employeeId, date, date);
+  }
+
+  /** Total hours over an inclusive date range; one map lookup per day held in memory. */
+  public BigDecimal hoursBetween(Long employeeId, LocalDate startDate, LocalDate endDate) {
+    LocalDate from = loadedFrom;
+    if (from == null || startDate.isBefore(from)) {
+      return dailyHoursRepository.sumHours(employeeId, startDate, endDate);
+    }
+    BigDecimal total = BigDecimal.ZERO;
+    for (LocalDate d = startDate; !d.isAfter(endDate); d = d.plusDays(1)) {
+      BigDecimal hours = hoursByDay.get(new DayKey(employeeId, d));
+      if (hours != null) total = total.add(hours);
+    }
+    return total;
+  }
+
+  public int entryCount(Long employeeId) {
+    if (loadedFrom == null) {
+      Long count = timeLogRepository.countByEmployee_Id(employeeId);
+      return count != null ? count.intValue() : 0;
+    }
+    return entriesByEmployee.getOrDefault(employeeId, 0L).intValue();
+  }
+
+  // ================== REBUILD / CHECK ==================
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void onStartup() {
+    if (dailyHoursRepository.count() == 0 && timeLogRepository.count() > 0) {
+      rebuild();
+    } else {
+      load();
+    }
+  }
+
+  /**
+   * Recompute the rollup from time_logs and reload the in-memory counters from it. The delete and
+   * re-insert run in one transaction; time log writers block on the rollup rows it holds and apply
+   * their deltas on top once it commits.
+   */
+  @Transactional
+  public synchronized void rebuild() {
+    dailyHoursRepository.deleteAllInBatch();
+    int days = dailyHoursRepository.rebuildFromTimeLogs();
+    log.info("Rebuilt hour counters: {} employee days", days);
+    load();
+  }
+
+  /** Reload the in-memory counters from the rollup. */
+  private synchronized void load() {
+    LocalDate from = LocalDate.now().minusDays(windowDays);
+    Map<DayKey, BigDecimal> hours = new HashMap<>();
+    for (DailyHoursRow row : dailyHoursRepository.findDaysFrom(from)) {
+      hours.put(new DayKey(row.employeeId(), row.date()), row.hours());
+    }
+    Map<Long, Long> entries = new HashMap<>();
+    for (Object[] row : dailyHoursRepository.sumEntriesByEmployee()) {
+      entries.put((Long) row[0], ((Number) row[1]).longValue());
+    }
+
+    hoursByDay.clear();
+    hoursByDay.putAll(hours);
+    entriesByEmployee.clear();
+    entriesByEmployee.putAll(entries);
+    loadedFrom = from;
+    log.info("Loaded hour counters: {} employee days held in memory", hours.size());
+  }
+
+  /** Move the in-memory window forward a day; days that fall out of it are read from the rollup. */
+  @Scheduled(cron = "${app.time-logs.counters.slide-cron:0 10 0 * * *}")
+  public void slideWindow() {
+    LocalDate current = loadedFrom;
+    LocalDate from = LocalDate.now().minusDays(windowDays);
+    if (current == null || !from.isAfter(current)) return;
+    loadedFrom = from;
+    hoursByDay.keySet().removeIf(key -> key.date().isBefore(from));
+  }
+
+  /**
+   * Compare the rollup and the in-memory counters with totals computed from time_logs.
+   *
+   * @param repair rebuild everything from time_logs when a mismatch is found
+   * @return number of mismatching employee days
+   */
+  @Transactional
+  public int checkConsistency(boolean repair) {
+    Map<DayKey, DailyHoursRow> source = new HashMap<>();
+    for (DailyHoursRow row : timeLogRepository.sumHoursGroupedByEmployeeAndDate()) {
+      source.put(new DayKey(row.employeeId(), row.date()), row);
+    }
+    Map<DayKey, DailyHoursRow> rollup = new HashMap<>();
+    for (DailyHoursRow row : dailyHoursRepository.findAllDays()) {
+      rollup.put(new DayKey(row.employeeId(), row.date()), row);
+    }
+
+    Set<DayKey> keys = new HashSet<>(source.keySet());
+    keys.addAll(rollup.keySet());
+    LocalDate from = loadedFrom;
+    int mismatches = 0;
+    for (DayKey key : keys) {
+      DailyHoursRow expected = source.get(key);
+      BigDecimal expectedHours = expected != null ? expected.hours() : BigDecimal.ZERO;
+      long expectedEntries = expected != null ? expected.entries() : 0L;
+      DailyHoursRow actual = rollup.get(key);
+      boolean rollupOk =
+          actual != null
+              ? sameHours(expectedHours, actual.hours()) && expectedEntries == actual.entries()
+              : expectedEntries == 0;
+      boolean memoryOk =
+          from == null
+              || key.date().isBefore(from)
+              || sameHours(expectedHours, hoursByDay.get(key));
+      if (!rollupOk || !memoryOk) {
+        mismatches++;
+        log.warn(
+            "Hour counter mismatch for employee {} on {}: time_logs={}, rollup={}, memory={}",
+            key.employeeId(),
+            key.date(),
+            expectedHours,
+            actual != null ? actual.hours() : null,
+            hoursByDay.get(key));
+      }
+    }
+
+    if (mismatches > 0 && repair) {
+      rebuild();
+    }
+    return mismatches;
+  }
+
+  @Scheduled(cron = "${app.time-logs.counters.check-cron:0 30 3 * * *}")
+  @Transactional
+  public void scheduledCheck() {
+    int mismatches = checkConsistency(true);
+    if (mismatches > 0) {
+      log.warn(
+          "Hour counters were out of sync for {} employee days and have been rebuilt", mismatches);
+    }
+  }
+
+  private static boolean sameHours(BigDecimal expected, BigDecimal actual) {
+    BigDecimal a = Objects.requireNonNullElse(actual, BigDecimal.ZERO);
+    return expected.compareTo(a) == 0;
+  }
+}
@@ -8,12 +8,15 @@ import com.autocare360.entity.User;
 import com.autocare360.exception.ConflictException;
 import com.autocare360.repo.RoleRepository;
 import com.autocare360.repo.UserRepository;
+import com.autocare360.security.PasswordHashingService;
+import com.autocare360.security.TokenRevocationRegistry;
+import com.autocare360.security.UserPrincipalCache;
 import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -22,7 +25,10 @@ public class EmployeeService {
 
   private final UserRepository userRepository;
   private final RoleRepository roleRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashing;
+  private final TokenRevocationRegistry revocationRegistry;
+  private final UserPrincipalCache principalCache;
+  private final TechnicianDirectory technicianDirectory;
 
   @Transactional
   public EmployeeResponse create(CreateEmployeeRequest request) {
@@ -30,7 +36,8 @@ public class EmployeeService {
         .findByEmail(request.getEmail())
         .ifPresent(
             u -> {
-              throw new ConflictException("Email already in use");
+              throw new ConflictException(
+                  ConflictException.EMAIL_ALREADY_IN_USE, "Email already in use");
             });
     Role employeeRole =
         roleRepository
@@ -39,7 +46,7 @@ public class EmployeeService {
     User user =
         User.builder()
             .email(request.getEmail())
-            .passwordHash(passwordEncoder.encode("password"))
+            .passwordHash(passwordHashing.encode("password"))
             .name(request.getName())
             .department(request.getDepartment())
             .employeeNo(generateEmployeeNo())
@@ -47,22 +54,28 @@ public class EmployeeService {
             .build();
     user.getRoles().add(employeeRole);
     User saved = userRepository.save(user);
+    technicianDirectory.invalidate();
     return toResponse(saved);
   }
 
   @Transactional
   public EmployeeResponse update(Long id, UpdateEmployeeRequest request) {
     User user = userRepository.findById(id).orElseThrow();
+    boolean statusChanged = !Objects.equals(user.getStatus(), request.getStatus());
     user.setName(request.getName());
     user.setDepartment(request.getDepartment());
     user.setStatus(request.getStatus());
-    return toResponse(userRepository.save(user));
+    User saved = userRepository.save(user);
+    if (statusChanged) revocationRegistry.invalidateUser(id);
+    principalCache.evict(id);
+    technicianDirectory.invalidate();
+    return toResponse(saved);
   }
 
   @Transactional
   public EmployeeResponse resetPassword(Long id) {
     User user = userRepository.findById(id).orElseThrow();
-    user.setPasswordHash(passwordEncoder.encode("password"));
+    user.setPasswordHash(passwordHashing.encode("password"));
     return toResponse(userRepository.save(user));
   }
 
@@ -83,6 +96,9 @@ public class EmployeeService {
   public void delete(Long id) {
     User user = userRepository.findById(id).orElseThrow();
     userRepository.delete(user);
+    revocationRegistry.invalidateUser(id);
+    principalCache.evict(id);
+    technicianDirectory.invalidate();
   }
 
   private String generateEmployeeNo() {
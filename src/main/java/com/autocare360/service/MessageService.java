@@ -25,6 +25,7 @@ public class MessageService {
   private final MessageRepository messageRepository;
   private final UserRepository userRepository;
   private final SimpMessagingTemplate messagingTemplate;
+  private final DataVersionService dataVersions;
 
   /**
    * Send a message and notify receiver via WebSocket For customers: receiverId can be NULL
@@ -53,6 +54,11 @@ public class MessageService {
     // Save to database
     Message savedMessage = messageRepository.save(message);
     log.info("Message saved with ID: {}", savedMessage.getId());
+    if (receiverId == null) {
+      dataVersions.bumpAll(); // lands in every employee's inbox
+    } else {
+      dataVersions.bump(senderId, receiverId);
+    }
 
     // Convert to DTO
     MessageDTO messageDTO = convertToDTO(savedMessage, sender);
@@ -193,6 +199,7 @@ public class MessageService {
   public void markMessagesAsRead(Long receiverId, Long senderId) {
     log.info("Marking messages as read for receiver {} from sender {}", receiverId, senderId);
     messageRepository.markMessagesAsRead(receiverId, senderId);
+    dataVersions.bump(receiverId, senderId);
   }
 
   /** Get unread message count */
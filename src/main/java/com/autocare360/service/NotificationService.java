@@ -7,7 +7,9 @@ import com.autocare360.repo.NotificationPreferenceRepository;
 import com.autocare360.repo.NotificationRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,7 @@ public class NotificationService {
   private final NotificationPreferenceRepository preferenceRepository;
   private final SimpMessagingTemplate messagingTemplate;
   private final ObjectMapper objectMapper;
+  private final DataVersionService dataVersions;
 
   /** Send a notification to a specific user */
   @Transactional
@@ -57,6 +60,7 @@ public class NotificationService {
               .build();
 
       notification = notificationRepository.save(notification);
+      dataVersions.bump(userId);
 
       // Send real-time notification via WebSocket
       NotificationMessage wsMessage =
@@ -139,6 +143,25 @@ public class NotificationService {
     sendNotificationToUser(userId, "PROJECT_UPDATE", title, message, data);
   }
 
+  /** Tell a technician that a timer they left running was stopped for them */
+  public void notifyTimerAutoStopped(
+      Long userId, Long timerId, Long appointmentId, LocalDateTime startTime, BigDecimal hours) {
+    Map<String, Object> data = new HashMap<>();
+    data.put("timerId", timerId);
+    data.put("appointmentId", appointmentId);
+    data.put("startTime", startTime.toString());
+    data.put("loggedHours", hours);
+
+    String title = "Timer Stopped Automatically";
+    String message =
+        String.format(
+            "Your timer started at %s was still running, so it was stopped and %s hours were logged"
+                + " for approval. Please correct the entry if needed.",
+            startTime.withNano(0), hours.toPlainString());
+
+    sendNotificationToUser(userId, "TIMER_AUTO_STOPPED", title, message, data);
+  }
+
   /** Broadcast system-wide announcement */
   public void broadcastAnnouncement(String title, String message) {
     NotificationMessage announcement =
@@ -182,6 +205,7 @@ public class NotificationService {
               if (notification.getUserId().equals(userId)) {
                 notification.setIsRead(true);
                 notificationRepository.save(notification);
+                dataVersions.bump(userId);
                 log.info("Notification {} marked as read by user {}", notificationId, userId);
               }
             });
@@ -195,6 +219,7 @@ public class NotificationService {
 
     unreadNotifications.forEach(notification -> notification.setIsRead(true));
     notificationRepository.saveAll(unreadNotifications);
+    dataVersions.bump(userId);
 
     log.info("Marked {} notifications as read for user {}", unreadNotifications.size(), userId);
   }
@@ -208,6 +233,7 @@ public class NotificationService {
             notification -> {
               if (notification.getUserId().equals(userId)) {
                 notificationRepository.delete(notification);
+                dataVersions.bump(userId);
                 log.info("Notification {} deleted by user {}", notificationId, userId);
               }
             });
@@ -257,6 +283,7 @@ public class NotificationService {
     }
 
     preference = preferenceRepository.save(preference);
+    dataVersions.bump(userId);
     log.info("Updated notification preferences for user {}", userId);
 
     return mapPreferenceToResponse(preference);
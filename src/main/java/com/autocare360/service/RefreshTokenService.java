@@ -0,0 +1,153 @@
+package com.autocare360.service;
+
+import com.autocare360.entity.RefreshToken;
+import com.autocare360.repo.RefreshTokenRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Opaque, single-use refresh tokens. Only the SHA-256 digest of a token is kept, both in the {@code
+ * refresh_tokens} table and in a hot in-memory index of live tokens, so renewing an access token
+ * costs a map lookup and one conditional update rather than a BCrypt check. The table stays the
+ * source of truth: index misses (after a restart, or on another instance) fall back to it. Expired
+ * rows are purged nightly; revoked ones are kept until they expire so that reuse of a rotated token
+ * is still detected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private final RefreshTokenRepository refreshTokenRepository;
+
+  // Live tokens by digest; rotated and revoked tokens are removed eagerly
+  private final Map<String, ActiveToken> index = new ConcurrentHashMap<>();
+
+  @Value("${app.security.jwt.refresh-token-ttl-seconds:1209600}")
+  private long refreshTtlSeconds;
+
+  @Value("${app.security.jwt.refresh-index-size:50000}")
+  private int maxIndexed;
+
+  private record ActiveToken(Long userId, Instant expiresAt) {}
+
+  /** Issue a new refresh token for the user. The raw value is returned once and never stored. */
+  @Transactional
+  public String issue(Long userId) {
+    byte[] bytes = new byte[32];
+    RANDOM.nextBytes(bytes);
+    String rawToken = ENCODER.encodeToString(bytes);
+    String hash = digest(rawToken);
+
+    Instant now = Instant.now();
+    Instant expiresAt = now.plusSeconds(refreshTtlSeconds);
+    refreshTokenRepository.save(
+        RefreshToken.builder()
+            .userId(userId)
+            .tokenHash(hash)
+            .expiresAt(expiresAt)
+            .createdAt(now)
+            .build());
+    remember(hash, new ActiveToken(userId, expiresAt), now);
+    return rawToken;
+  }
+
+  /**
+   * Consume a refresh token and return the id of the user it was issued to. A token can be consumed
+   * once; presenting an already rotated token revokes every refresh token of that user, since one
+   * of the two holders is not the legitimate client.
+   *
+   * @throws IllegalArgumentException if the token is unknown, expired or already used
+   */
+  @Transactional(noRollbackFor = IllegalArgumentException.class)
+  public Long consume(String rawToken) {
+    String hash = digest(rawToken);
+    Instant now = Instant.now();
+
+    ActiveToken active = index.remove(hash);
+    if (active == null) {
+      RefreshToken stored = refreshTokenRepository.findByTokenHash(hash).orElse(null);
+      if (stored == null) {
+        throw new IllegalArgumentException("Invalid refresh token");
+      }
+      if (stored.getRevokedAt() != null) {
+        log.warn("Revoked refresh token presented for user {}, revoking all", stored.getUserId());
+        revokeAll(stored.getUserId());
+        throw new IllegalArgumentException("Invalid refresh token");
+      }
+      active = new ActiveToken(stored.getUserId(), stored.getExpiresAt());
+    }
+
+    if (!now.isBefore(active.expiresAt())) {
+      throw new IllegalArgumentException("Refresh token expired");
+    }
+    // Conditional update so two concurrent refreshes cannot both win
+    if (refreshTokenRepository.revokeIfActive(hash, now) == 0) {
+      throw new IllegalArgumentException("Invalid refresh token");
+    }
+    return active.userId();
+  }
+
+  /** Revoke a single refresh token, e.g. on logout. Unknown tokens are ignored. */
+  @Transactional
+  public void revoke(String rawToken) {
+    if (rawToken == null || rawToken.isBlank()) return;
+    String hash = digest(rawToken);
+    index.remove(hash);
+    refreshTokenRepository.revokeIfActive(hash, Instant.now());
+  }
+
+  /** Revoke every refresh token held by the user. */
+  @Transactional
+  public void revokeAll(Long userId) {
+    index.values().removeIf(t -> t.userId().equals(userId));
+    int revoked = refreshTokenRepository.revokeAllForUser(userId, Instant.now());
+    log.info("Revoked {} refresh tokens for user {}", revoked, userId);
+  }
+
+  /**
+   * Delete expired tokens, revoked or not, from the table and the index. A purged token is rejected
+   * like an unknown one.
+   */
+  @Scheduled(cron = "${app.security.jwt.refresh-purge-cron:0 15 4 * * *}")
+  @Transactional
+  public void purgeExpired() {
+    Instant now = Instant.now();
+    index.values().removeIf(t -> !now.isBefore(t.expiresAt()));
+    int purged = refreshTokenRepository.deleteExpired(now);
+    log.info("Purged {} expired refresh tokens", purged);
+  }
+
+  // Beyond the cap, tokens are still valid but are served from the table
+  private void remember(String hash, ActiveToken token, Instant now) {
+    if (index.size() >= maxIndexed) {
+      index.values().removeIf(t -> !now.isBefore(t.expiresAt()));
+      if (index.size() >= maxIndexed) return;
+    }
+    index.put(hash, token);
+  }
+
+  private static String digest(String rawToken) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      return ENCODER.encodeToString(md.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.autocare360.service;
+
+import com.autocare360.dto.ServiceCountRow;
+import com.autocare360.entity.Appointment;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.TaskDistributionMonthlyRepository;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Appointment counts per (assigned technician, service, month), kept in the {@code
+ * task_distribution_monthly} rollup so task distribution charts read a few rows instead of loading
+ * every appointment in the period. {@link AppointmentService} applies a delta whenever an
+ * appointment is created, deleted, or changes technician, service or month. The rollup is built
+ * from {@code appointments} at startup only while it is still empty; {@link #rebuild()} repairs
+ * drift on demand.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskDistributionService {
+
+  private final TaskDistributionMonthlyRepository rollupRepository;
+  private final AppointmentRepository appointmentRepository;
+
+  /** Rollup row an appointment counts towards; null when it is not assigned to anyone. */
+  public record RollupKey(Long assignedUserId, String service, int monthKey) {}
+
+  public static RollupKey keyOf(Appointment appointment) {
+    if (appointment == null
+        || appointment.getAssignedUser() == null
+        || appointment.getService() == null
+        || appointment.getDate() == null) {
+      return null;
+    }
+    return new RollupKey(
+        appointment.getAssignedUser().getId(),
+        appointment.getService(),
+        monthKey(appointment.getDate()));
+  }
+
+  static int monthKey(LocalDate date) {
+    return date.getYear() * 100 + date.getMonthValue();
+  }
+
+  // ================== WRITES ==================
+
+  /**
+   * Move an appointment's count from {@code before} (its key prior to the change, null for a new
+   * appointment) to its current key. Must run in the transaction that saved the appointment.
+   */
+  @Transactional
+  public void onSaved(RollupKey before, Appointment appointment) {
+    RollupKey after = keyOf(appointment);
+    if (Objects.equals(before, after)) return;
+    add(before, -1);
+    add(after, 1);
+  }
+
+  @Transactional
+  public void onDeleted(Appointment appointment) {
+    add(keyOf(appointment), -1);
+  }
+
+  private void add(RollupKey key, int delta) {
+    if (key == null) return;
+    if (delta > 0) {
+      // An upsert, so two first appointments in the same month cannot both insert
+      rollupRepository.increment(key.assignedUserId(), key.service(), key.monthKey());
+    } else if (rollupRepository.decrement(key.assignedUserId(), key.service(), key.monthKey())
+        == 0) {
+      // Never goes negative; a missing count means the rollup has drifted
+      log.warn("No task distribution count to remove for {}", key);
+    }
+  }
+
+  // ================== READS ==================
+
+  /**
+   * Appointments per service for one technician. Whole months and years come from the rollup; a
+   * week does not line up with month rows so it is counted with a grouped query on appointments.
+   */
+  @Transactional(readOnly = true)
+  public List<ServiceCountRow> countByService(Long userId, String period, LocalDate today) {
+    switch (period == null ? "month" : period.toLowerCase()) {
+      case "week":
+        LocalDate monday = today.with(DayOfWeek.MONDAY);
+        return appointmentRepository.countByServiceForAssignedUser(
+            userId, monday, monday.plusDays(6));
+      case "year":
+        return rollupRepository.countByService(
+            userId, today.getYear() * 100 + 1, today.getYear() * 100 + 12);
+      case "month":
+      default:
+        int month = monthKey(today);
+        return rollupRepository.countByService(userId, month, month);
+    }
+  }
+
+  // ================== REBUILD ==================
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void onStartup() {
+    if (rollupRepository.count() == 0) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Recompute the rollup from appointments. The delete and re-insert run in one transaction;
+   * appointment writers block on the rollup rows it holds and apply their deltas on top once it
+   * commits.
+   */
+  @Transactional
+  public synchronized void rebuild() {
+    rollupRepository.deleteAllInBatch();
+    int rows = rollupRepository.rebuildFromAppointments();
+    log.info("Rebuilt task distribution rollup: {} rows", rows);
+  }
+}
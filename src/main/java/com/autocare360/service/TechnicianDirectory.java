@@ -0,0 +1,73 @@
+package com.autocare360.service;
+
+import com.autocare360.dto.TechnicianRow;
+import com.autocare360.repo.UserRepository;
+import com.autocare360.util.AfterCommit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Technicians appointments can be booked with (users that have an employee number or the EMPLOYEE
+ * role) by name, loaded once and held until {@link EmployeeService} or {@link CustomerService}
+ * changes a user here (see the replicas note in docs/DEPLOYMENT.md).
+ */
+@Service
+@RequiredArgsConstructor
+public class TechnicianDirectory {
+
+  private final UserRepository userRepository;
+
+  private volatile Roster roster;
+  // Bumped by every invalidation so a load that raced with one is not kept
+  private final AtomicLong generation = new AtomicLong();
+
+  // Technicians in creation order; a name shared by several users resolves to the oldest
+  private record Roster(List<TechnicianRow> technicians, Map<String, Long> ids) {}
+
+  /** Technicians by name in creation order, each with the user id bookings are held under. */
+  public List<TechnicianRow> technicians() {
+    return roster().technicians();
+  }
+
+  /** Technician names in creation order. */
+  public List<String> names() {
+    return technicians().stream().map(TechnicianRow::name).toList();
+  }
+
+  /** User id of the technician called {@code name}, or null if there is none. */
+  public Long idOf(String name) {
+    return name == null ? null : roster().ids().get(name);
+  }
+
+  private Roster roster() {
+    Roster current = roster;
+    if (current != null) return current;
+    long loadedAt = generation.get();
+    List<TechnicianRow> technicians = new ArrayList<>();
+    Map<String, Long> ids = new HashMap<>();
+    for (TechnicianRow row : userRepository.findTechnicians()) {
+      if (row.name() != null && ids.putIfAbsent(row.name(), row.id()) == null) {
+        technicians.add(row);
+      }
+    }
+    Roster loaded = new Roster(List.copyOf(technicians), Map.copyOf(ids));
+    if (generation.get() == loadedAt) {
+      roster = loaded;
+    }
+    return loaded;
+  }
+
+  /** Drop the cached roster once the caller's transaction commits. */
+  public void invalidate() {
+    AfterCommit.run(
+        () -> {
+          generation.incrementAndGet();
+          roster = null;
+        });
+  }
+}
@@ -0,0 +1,317 @@
+package com.autocare360.service;
+
+import com.autocare360.dto.BulkTimeLogItemResult;
+import com.autocare360.dto.BulkTimeLogResponseDTO;
+import com.autocare360.dto.CreateTimeLogRequestDTO;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.TimeLog;
+import com.autocare360.entity.Timer;
+import com.autocare360.exception.ConflictException;
+import com.autocare360.exception.ResourceNotFoundException;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.repo.TimeLogBatchInserter;
+import com.autocare360.repo.TimeLogRepository;
+import com.autocare360.repo.TimerRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Time log writes. Each method saves the log and, in the same transaction, applies the matching
+ * delta to the per-employee hour counters and to the appointment's {@code actual_hours}, so neither
+ * drifts from {@code time_logs}. {@link #backfillActualHours()} recomputes appointment totals from
+ * source for rows written before this or outside this service.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimeLogService {
+
+  private final TimeLogRepository timeLogRepository;
+  private final TimerRepository timerRepository;
+  private final AppointmentRepository appointmentRepository;
+  private final EmployeeRepository employeeRepository;
+  private final TimeLogBatchInserter batchInserter;
+  private final EmployeeHoursCounterService hoursCounters;
+  private final DataVersionService dataVersions;
+  private final ActiveTimerRegistry activeTimers;
+  private final EntityManager entityManager;
+
+  private static final BigDecimal SECONDS_PER_HOUR = new BigDecimal("3600");
+
+  @Value("${app.time-logs.bulk.max-entries:500}")
+  private int maxBulkEntries;
+
+  @Transactional
+  public TimeLog create(TimeLog timeLog) {
+    TimeLog saved = timeLogRepository.save(timeLog);
+    hoursCounters.apply(saved.getEmployeeId(), saved.getDate(), saved.getHours(), 1);
+    addActualHours(saved.getAppointmentId(), saved.getHours());
+    dataVersions.bump(saved.getEmployeeId());
+    return saved;
+  }
+
+  /**
+   * Save an edited log. The {@code previous*} arguments are the values before the edit, so a log
+   * moved to another day or appointment is taken off the old one's total.
+   */
+  @Transactional
+  public TimeLog update(
+      TimeLog timeLog,
+      Long previousAppointmentId,
+      LocalDate previousDate,
+      BigDecimal previousHours) {
+    TimeLog saved = timeLogRepository.save(timeLog);
+    Long employeeId = saved.getEmployeeId();
+    if (previousDate.equals(saved.getDate())) {
+      hoursCounters.apply(employeeId, previousDate, saved.getHours().subtract(previousHours), 0);
+    } else {
+      hoursCounters.apply(employeeId, previousDate, previousHours.negate(), -1);
+      hoursCounters.apply(employeeId, saved.getDate(), saved.getHours(), 1);
+    }
+    if (Objects.equals(previousAppointmentId, saved.getAppointmentId())) {
+      addActualHours(previousAppointmentId, saved.getHours().subtract(previousHours));
+    } else {
+      addActualHours(previousAppointmentId, previousHours.negate());
+      addActualHours(saved.getAppointmentId(), saved.getHours());
+    }
+    dataVersions.bump(employeeId);
+    return saved;
+  }
+
+  @Transactional
+  public void delete(TimeLog timeLog) {
+    timeLogRepository.delete(timeLog);
+    hoursCounters.apply(
+        timeLog.getEmployeeId(), timeLog.getDate(), timeLog.getHours().negate(), -1);
+    addActualHours(timeLog.getAppointmentId(), timeLog.getHours().negate());
+    dataVersions.bump(timeLog.getEmployeeId());
+  }
+
+  /**
+   * Record the log produced by a stopped timer and deactivate the timer together.
+   *
+   * @throws ConflictException if the timer was stopped in the meantime, e.g. by the sweeper
+   */
+  @Transactional
+  public TimeLog createFromTimer(TimeLog timeLog, Timer timer, LocalDateTime endTime) {
+    if (timerRepository.stop(timer.getId(), endTime) == 0) {
+      throw new ConflictException("Timer is not active");
+    }
+    TimeLog saved = create(timeLog);
+    activeTimers.onStopped(timer.getEmployeeId(), timer.getId());
+    return saved;
+  }
+
+  /**
+   * Stop up to {@code limit} timers started before {@code cutoff}, oldest first. Each gets a
+   * PENDING_APPROVAL log dated the day it started, for its elapsed time capped at {@code
+   * maxLogged}; the logs go in as one JDBC batch. The timers are row-locked while this runs, so a
+   * manual stop of the same timer waits and then finds it inactive.
+   */
+  @Transactional
+  public List<AutoStoppedTimer> autoStopTimers(
+      LocalDateTime cutoff, int limit, Duration maxLogged, LocalDateTime now) {
+    List<Timer> timers =
+        timerRepository.findByIsActiveTrueAndStartTimeBeforeOrderByStartTimeAsc(
+            cutoff, Limit.of(limit));
+    if (timers.isEmpty()) return List.of();
+
+    List<AutoStoppedTimer> stopped = new ArrayList<>(timers.size());
+    List<TimeLogBatchInserter.Row> rows = new ArrayList<>(timers.size());
+    for (Timer timer : timers) {
+      Duration elapsed = Duration.between(timer.getStartTime(), now);
+      Duration logged = elapsed.compareTo(maxLogged) > 0 ? maxLogged : elapsed;
+      BigDecimal hours =
+          BigDecimal.valueOf(logged.getSeconds()).divide(SECONDS_PER_HOUR, 2, RoundingMode.HALF_UP);
+      AutoStoppedTimer autoStopped =
+          new AutoStoppedTimer(
+              timer.getId(),
+              timer.getEmployeeId(),
+              timer.getAppointmentId(),
+              timer.getStartTime(),
+              hours);
+      stopped.add(autoStopped);
+      rows.add(
+          new TimeLogBatchInserter.Row(
+              autoStopped.employeeId(),
+              autoStopped.appointmentId(),
+              autoStopped.startTime().toLocalDate(),
+              hours,
+              "Timer auto-stopped after running since "
+                  + autoStopped.startTime().withNano(0)
+                  + "; logged time capped at "
+                  + hours
+                  + " h",
+              "PENDING_APPROVAL"));
+    }
+
+    timerRepository.stopAll(stopped.stream().map(AutoStoppedTimer::timerId).toList(), now);
+    insertRows(rows);
+    stopped.forEach(t -> activeTimers.onStopped(t.employeeId(), t.timerId()));
+    return stopped;
+  }
+
+  public record AutoStoppedTimer(
+      Long timerId,
+      Long employeeId,
+      Long appointmentId,
+      LocalDateTime startTime,
+      BigDecimal hours) {}
+
+  /**
+   * Create many of one employee's time logs at once. Entries are checked in a single pass (the
+   * referenced appointments are looked up with one query), valid ones are inserted as one JDBC
+   * batch and invalid ones are reported by index. Hour counters and appointment totals get one
+   * delta per touched day and appointment rather than one per entry.
+   */
+  @Transactional
+  public BulkTimeLogResponseDTO createAll(Long employeeId, List<CreateTimeLogRequestDTO> entries) {
+    if (entries == null || entries.isEmpty()) {
+      throw new IllegalArgumentException("At least one entry is required");
+    }
+    if (entries.size() > maxBulkEntries) {
+      throw new IllegalArgumentException(
+          "At most " + maxBulkEntries + " entries can be sent at once");
+    }
+    if (!employeeRepository.existsById(employeeId)) {
+      throw new ResourceNotFoundException("Employee not found");
+    }
+
+    Set<Long> appointmentIds = new HashSet<>();
+    for (CreateTimeLogRequestDTO entry : entries) {
+      if (entry != null && entry.getAppointmentId() != null) {
+        appointmentIds.add(entry.getAppointmentId());
+      }
+    }
+    Set<Long> existing =
+        appointmentIds.isEmpty()
+            ? Set.of()
+            : new HashSet<>(appointmentRepository.findExistingIds(appointmentIds));
+
+    LocalDate today = LocalDate.now();
+    BulkTimeLogItemResult[] results = new BulkTimeLogItemResult[entries.size()];
+    List<Integer> acceptedIndexes = new ArrayList<>();
+    List<TimeLogBatchInserter.Row> rows = new ArrayList<>();
+    for (int i = 0; i < entries.size(); i++) {
+      CreateTimeLogRequestDTO entry = entries.get(i);
+      String error = validate(entry, existing, today);
+      if (error != null) {
+        results[i] = BulkTimeLogItemResult.rejected(i, error);
+        continue;
+      }
+      acceptedIndexes.add(i);
+      rows.add(
+          new TimeLogBatchInserter.Row(
+              employeeId,
+              entry.getAppointmentId(),
+              entry.getDate(),
+              entry.getHours(),
+              entry.getDescription(),
+              entry.getStatus() != null ? entry.getStatus() : "COMPLETED"));
+    }
+
+    List<Long> ids = insertRows(rows);
+    for (int r = 0; r < rows.size(); r++) {
+      results[acceptedIndexes.get(r)] =
+          BulkTimeLogItemResult.created(acceptedIndexes.get(r), ids.get(r));
+    }
+
+    return new BulkTimeLogResponseDTO(rows.size(), entries.size() - rows.size(), List.of(results));
+  }
+
+  /**
+   * Insert the rows as one JDBC batch, then apply one counter delta per employee and day and one
+   * {@code actual_hours} delta per appointment. Returns the generated ids in row order.
+   */
+  private List<Long> insertRows(List<TimeLogBatchInserter.Row> rows) {
+    List<Long> ids = batchInserter.insertAll(rows);
+    Map<CounterKey, BigDecimal> hoursByDay = new HashMap<>();
+    Map<CounterKey, Integer> entriesByDay = new HashMap<>();
+    Map<Long, BigDecimal> hoursByAppointment = new HashMap<>();
+    Set<Long> employeeIds = new HashSet<>();
+    for (TimeLogBatchInserter.Row row : rows) {
+      CounterKey key = new CounterKey(row.employeeId(), row.date());
+      hoursByDay.merge(key, row.hours(), BigDecimal::add);
+      entriesByDay.merge(key, 1, Integer::sum);
+      hoursByAppointment.merge(row.appointmentId(), row.hours(), BigDecimal::add);
+      employeeIds.add(row.employeeId());
+    }
+    hoursByDay.forEach(
+        (key, hours) ->
+            hoursCounters.apply(key.employeeId(), key.date(), hours, entriesByDay.get(key)));
+    hoursByAppointment.forEach(this::addActualHours);
+    if (!employeeIds.isEmpty()) {
+      dataVersions.bump(employeeIds.toArray(Long[]::new));
+    }
+    return ids;
+  }
+
+  private record CounterKey(Long employeeId, LocalDate date) {}
+
+  // Same rules as the single-entry endpoint; returns null when the entry is valid
+  private static String validate(
+      CreateTimeLogRequestDTO entry, Set<Long> existingAppointments, LocalDate today) {
+    if (entry == null) return "Entry is empty";
+    if (entry.getAppointmentId() == null) return "Appointment ID is required";
+    if (!existingAppointments.contains(entry.getAppointmentId())) return "Appointment not found";
+    if (entry.getHours() == null
+        || entry.getHours().compareTo(BigDecimal.ZERO) <= 0
+        || entry.getHours().compareTo(new BigDecimal("24")) > 0) {
+      return "Hours must be between 0 and 24";
+    }
+    if (entry.getDate() == null) return "Date is required";
+    if (entry.getDate().isAfter(today)) return "Cannot log time for future dates";
+    if (entry.getDescription() == null || entry.getDescription().isBlank()) {
+      return "Description is required";
+    }
+    if (entry.getDescription().length() > 2000) return "Description is too long";
+    if (entry.getStatus() != null && entry.getStatus().length() > 20) return "Status is too long";
+    return null;
+  }
+
+  // One UPDATE on the appointment row; no logs are read
+  private void addActualHours(Long appointmentId, BigDecimal delta) {
+    if (appointmentId == null || delta == null || delta.signum() == 0) return;
+    appointmentRepository.addActualHours(appointmentId, delta);
+    // The update bypasses the persistence context. A copy loaded earlier in this transaction is
+    // reread, or a later flush would write its old total back; an unloaded one costs nothing
+    Appointment managed = entityManager.getReference(Appointment.class, appointmentId);
+    if (Hibernate.isInitialized(managed)) {
+      entityManager.refresh(managed);
+    }
+  }
+
+  /**
+   * Recompute every appointment's {@code actual_hours} from all employees' time logs. Runs nightly;
+   * only rows whose stored total differs are written.
+   */
+  @Scheduled(cron = "${app.time-logs.actual-hours.backfill-cron:0 45 3 * * *}")
+  @Transactional
+  public int backfillActualHours() {
+    int changed = appointmentRepository.recomputeActualHours();
+    if (changed > 0) {
+      log.warn("Actual hours backfill corrected {} appointments", changed);
+    }
+    return changed;
+  }
+}
@@ -3,10 +3,10 @@ package com.autocare360.service;
 import com.autocare360.dto.UserResponse;
 import com.autocare360.entity.User;
 import com.autocare360.repo.UserRepository;
+import com.autocare360.security.PasswordHashingService;
 import java.util.Locale;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Service;
 public class UserService {
 
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashing;
 
   public UserResponse getCurrent(Long userId) {
     User user = userRepository.findById(userId).orElseThrow();
@@ -37,10 +37,10 @@ public class UserService {
 
   public void changePassword(Long userId, String currentPassword, String newPassword) {
     User user = userRepository.findById(userId).orElseThrow();
-    if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+    if (!passwordHashing.matches(currentPassword, user.getPasswordHash())) {
       throw new IllegalArgumentException("Invalid current password");
     }
-    user.setPasswordHash(passwordEncoder.encode(newPassword));
+    user.setPasswordHash(passwordHashing.encode(newPassword));
     userRepository.save(user);
   }
 
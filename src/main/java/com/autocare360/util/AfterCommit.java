@@ -0,0 +1,28 @@
+package com.autocare360.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Deferring in-memory updates until the database change they mirror has committed. */
+public final class AfterCommit {
+
+  private AfterCommit() {}
+
+  /**
+   * Run {@code action} once the current transaction commits, or straight away when there is none.
+   * Nothing runs if the transaction rolls back.
+   */
+  public static void run(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+}
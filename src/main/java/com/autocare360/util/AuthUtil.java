@@ -2,11 +2,17 @@ package com.autocare360.util;
 
 import com.autocare360.entity.User;
 import com.autocare360.repo.UserRepository;
+import com.autocare360.security.AuthenticatedUser;
+import com.autocare360.security.CurrentUserArgumentResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+/**
+ * Adapter over the {@link AuthenticatedUser} principal for code that still works with an {@link
+ * Authentication}. New controller code should take a {@code @CurrentUser} parameter instead.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -16,43 +22,25 @@ public class AuthUtil {
 
   /** Extract user ID from the authentication principal */
   public Long getUserIdFromAuth(Authentication authentication) {
-    if (authentication == null || authentication.getPrincipal() == null) {
-      log.error("Authentication is null or principal is null");
-      throw new RuntimeException("User not authenticated");
-    }
-
-    String email = authentication.getPrincipal().toString();
-    log.debug("Extracting user ID for email: {}", email);
-
-    User user =
-        userRepository
-            .findByEmail(email)
-            .orElseThrow(
-                () -> {
-                  log.error("User not found with email: {}", email);
-                  return new RuntimeException("User not found with email: " + email);
-                });
+    return getCurrentUser(authentication).userId();
+  }
 
-    log.debug("Found user ID: {} for email: {}", user.getId(), email);
-    return user.getId();
+  /** Get the principal resolved by the JWT filter */
+  public AuthenticatedUser getCurrentUser(Authentication authentication) {
+    return CurrentUserArgumentResolver.currentUser(authentication);
   }
 
   /** Get the full user entity from authentication */
   public User getUserFromAuth(Authentication authentication) {
-    if (authentication == null || authentication.getPrincipal() == null) {
-      log.error("Authentication is null or principal is null");
-      throw new RuntimeException("User not authenticated");
-    }
-
-    String email = authentication.getPrincipal().toString();
-    log.debug("Fetching user for email: {}", email);
+    Long userId = getUserIdFromAuth(authentication);
+    log.debug("Fetching user for ID: {}", userId);
 
     return userRepository
-        .findByEmail(email)
+        .findById(userId)
         .orElseThrow(
             () -> {
-              log.error("User not found with email: {}", email);
-              return new RuntimeException("User not found with email: " + email);
+              log.error("User not found with ID: {}", userId);
+              return new RuntimeException("User not found with ID: " + userId);
             });
   }
 
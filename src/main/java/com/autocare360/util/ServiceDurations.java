@@ -0,0 +1,37 @@
+package com.autocare360.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/** How long a booking keeps its technician busy, in minutes. */
+public final class ServiceDurations {
+
+  public static final int DEFAULT_MINUTES = 60;
+  public static final int MAX_MINUTES = 24 * 60;
+
+  // Typical job lengths, used when a booking carries no estimate of its own
+  private static final Map<String, Integer> MINUTES =
+      Map.of(
+          "Oil Change", 60,
+          "Brake Service", 180,
+          "Tire Rotation", 60,
+          "Inspection", 60,
+          "Custom Project", 240,
+          "AC Service", 120);
+
+  private ServiceDurations() {}
+
+  public static int minutesFor(String service) {
+    return service == null ? DEFAULT_MINUTES : MINUTES.getOrDefault(service, DEFAULT_MINUTES);
+  }
+
+  /** {@code estimatedHours} rounded up to whole minutes, or the service default without one. */
+  public static int minutesFor(String service, BigDecimal estimatedHours) {
+    if (estimatedHours == null || estimatedHours.signum() <= 0) return minutesFor(service);
+    BigDecimal minutes = estimatedHours.multiply(BigDecimal.valueOf(60));
+    return minutes.compareTo(BigDecimal.valueOf(MAX_MINUTES)) >= 0
+        ? MAX_MINUTES
+        : minutes.setScale(0, RoundingMode.CEILING).intValueExact();
+  }
+}
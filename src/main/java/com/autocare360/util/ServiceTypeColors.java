@@ -0,0 +1,24 @@
+package com.autocare360.util;
+
+import java.util.Map;
+
+/** Chart colours per service type, matching the frontend palette. */
+public final class ServiceTypeColors {
+
+  public static final String DEFAULT_COLOR = "#6b7280";
+
+  private static final Map<String, String> COLORS =
+      Map.of(
+          "Oil Change", "#3b82f6",
+          "Brake Service", "#10b981",
+          "Tire Rotation", "#f59e0b",
+          "Inspection", "#ef4444",
+          "Custom Project", "#8b5cf6",
+          "AC Service", "#06b6d4");
+
+  private ServiceTypeColors() {}
+
+  public static String colorFor(String service) {
+    return service == null ? DEFAULT_COLOR : COLORS.getOrDefault(service, DEFAULT_COLOR);
+  }
+}
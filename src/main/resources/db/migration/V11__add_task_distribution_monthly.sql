@@ -0,0 +1,10 @@
+-- Appointment counts per assigned technician, service and month (month_key = yyyymm).
+-- Maintained on appointment writes; filled from appointments only by a startup that finds it
+-- empty. See TaskDistributionService.
+CREATE TABLE task_distribution_monthly (
+    assigned_user_id BIGINT NOT NULL,
+    service VARCHAR(255) NOT NULL,
+    month_key INT NOT NULL,
+    appointments INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (assigned_user_id, month_key, service)
+);
@@ -0,0 +1,3 @@
+-- Per-employee date range scans (weekly workload, daily rollups) and keyset pagination of an
+-- employee's time logs: ORDER BY date DESC, created_at DESC, id DESC.
+CREATE INDEX idx_time_logs_employee_keyset ON time_logs (employee_id, date, created_at, id);
@@ -0,0 +1,25 @@
+-- appointments.assigned_user_id (the technician, from users) was only ever created by Hibernate's
+-- ddl-auto, which runs after Flyway, so V14 could not rely on it on a fresh database. Add the column
+-- and its foreign key unless Hibernate already did.
+SET @has_column = (
+  SELECT COUNT(*) FROM information_schema.columns
+  WHERE table_schema = DATABASE() AND table_name = 'appointments'
+    AND column_name = 'assigned_user_id');
+SET @ddl = IF(@has_column = 0,
+  'ALTER TABLE appointments ADD COLUMN assigned_user_id BIGINT NULL',
+  'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @has_fk = (
+  SELECT COUNT(*) FROM information_schema.key_column_usage
+  WHERE table_schema = DATABASE() AND table_name = 'appointments'
+    AND column_name = 'assigned_user_id' AND referenced_table_name = 'users');
+SET @ddl = IF(@has_fk = 0,
+  'ALTER TABLE appointments ADD CONSTRAINT fk_appointments_assigned_user '
+    'FOREIGN KEY (assigned_user_id) REFERENCES users(id)',
+  'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,2 @@
+-- Lets the abandoned-timer sweeper range-scan running timers by start time
+CREATE INDEX idx_timers_active_start ON timers (is_active, start_time);
@@ -0,0 +1,18 @@
+-- At most one live booking per technician and start time. active_slot is 1 while a booking holds
+-- its slot and NULL once cancelled or unassigned; NULLs never collide in a unique index.
+-- This is a backstop for identical start times only: bookings that overlap without sharing a start
+-- are rejected by AppointmentService, not by the database.
+ALTER TABLE appointments ADD COLUMN active_slot TINYINT NULL;
+
+-- Existing double bookings keep only their oldest row marked. The others stay NULL and can still be
+-- edited; moving one to another slot, or reopening it once cancelled, claims that slot as usual.
+UPDATE appointments a
+JOIN (
+  SELECT MIN(id) AS id FROM appointments
+  WHERE status <> 'CANCELLED' AND assigned_user_id IS NOT NULL
+  GROUP BY assigned_user_id, date, time
+) keep ON keep.id = a.id
+SET a.active_slot = 1;
+
+CREATE UNIQUE INDEX uk_appointments_active_slot
+  ON appointments (assigned_user_id, date, time, active_slot);
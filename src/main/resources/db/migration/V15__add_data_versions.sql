@@ -0,0 +1,7 @@
+-- Per-user data version behind the conditional GET ETags, bumped in the same transaction as the
+-- write it stands for. user_id 0 holds the version every tag includes; see DataVersionService.
+CREATE TABLE data_versions (
+    user_id BIGINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id)
+);
@@ -0,0 +1,2 @@
+-- Lets the nightly purge of expired refresh tokens range-scan by expiry
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
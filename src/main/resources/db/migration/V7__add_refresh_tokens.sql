@@ -0,0 +1,12 @@
+-- Refresh tokens are stored as SHA-256 digests only; the raw token never reaches the database
+CREATE TABLE refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token_hash CHAR(43) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_refresh_tokens_hash (token_hash),
+    INDEX idx_refresh_tokens_user (user_id)
+);
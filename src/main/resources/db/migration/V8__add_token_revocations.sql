@@ -0,0 +1,11 @@
+-- Revoked access tokens (by token id) and users whose tokens issued before revoked_before are void.
+-- Rows are only needed until every token they can match has expired.
+CREATE TABLE token_revocations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_id VARCHAR(36) NULL,
+    user_id BIGINT NULL,
+    revoked_before TIMESTAMP NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_token_revocations_expires (expires_at)
+);
@@ -0,0 +1,10 @@
+-- Per-employee, per-day rollup of time_logs maintained on every time log write.
+-- Filled from time_logs on the first startup that finds it empty, and compared with
+-- time_logs by a nightly check that rebuilds it on a mismatch; see EmployeeHoursCounterService.
+CREATE TABLE employee_daily_hours (
+    employee_id BIGINT NOT NULL,
+    work_date DATE NOT NULL,
+    hours DECIMAL(9,2) NOT NULL DEFAULT 0,
+    entries INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (employee_id, work_date)
+);
@@ -0,0 +1,186 @@
+package com.autocare360.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.autocare360.dto.BookedSlotRow;
+import com.autocare360.dto.TechnicianRow;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.service.AvailabilityIndex;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Availability for every day of a 90-day calendar with 50 technicians: the old per-slot stream
+ * filter over each day's bookings against the {@link AvailabilityIndex} schedules. Both sides work
+ * on data already in memory, so the old side leaves out its users and appointments queries. Every
+ * technician is booked at 09:00 each day, so the index has to look at all 50 schedules. The {@code
+ * nextFreeSlots} cases time the multi-day search over a six-month horizon, best and worst case.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.autocare360.benchmark.AvailabilityBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+  private static final int TECHNICIANS = 50;
+  private static final int DAYS = 90;
+  private static final int BOOKINGS_PER_TECHNICIAN_PER_DAY = 4;
+  private static final int SIX_MONTHS = 184;
+  private static final TechnicianRow FULLY_BOOKED = new TechnicianRow(0L, "Fully Booked");
+
+  private final LocalDate firstDay = LocalDate.of(2025, 1, 6);
+  private final List<TechnicianRow> technicians = new ArrayList<>();
+  private final List<Long> technicianIds = new ArrayList<>();
+  private final Map<LocalDate, List<BookedSlotRow>> bookings = new HashMap<>();
+  private AvailabilityIndex index;
+  private AvailabilityIndex fullyBookedIndex;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int t = 0; t < TECHNICIANS; t++) {
+      technicians.add(new TechnicianRow(t + 1L, String.format("Technician %02d", t)));
+      technicianIds.add(t + 1L);
+    }
+    for (int d = 0; d < DAYS; d++) {
+      LocalDate date = firstDay.plusDays(d);
+      List<BookedSlotRow> day = new ArrayList<>();
+      for (Long technicianId : technicianIds) {
+        day.add(row(technicianId, date, 9));
+        for (int b = 1; b < BOOKINGS_PER_TECHNICIAN_PER_DAY; b++) {
+          day.add(row(technicianId, date, random.nextInt(24)));
+        }
+      }
+      bookings.put(date, day);
+    }
+
+    index = indexOver(bookings);
+    for (int d = 0; d < DAYS; d++) {
+      index.occupancy(firstDay.plusDays(d), technicianIds.get(0));
+    }
+
+    // One technician with every hour booked for six months: a search has to scan every day
+    Map<LocalDate, List<BookedSlotRow>> fullyBooked = new HashMap<>();
+    for (int d = 0; d < SIX_MONTHS; d++) {
+      LocalDate date = firstDay.plusDays(d);
+      List<BookedSlotRow> day = new ArrayList<>();
+      for (int hour = 0; hour < AvailabilityIndex.SLOTS_PER_DAY; hour++) {
+        day.add(row(FULLY_BOOKED.id(), date, hour));
+      }
+      fullyBooked.put(date, day);
+    }
+    fullyBookedIndex = indexOver(fullyBooked);
+    fullyBookedIndex.nextFreeSlots(firstDay, 0, SIX_MONTHS, List.of(FULLY_BOOKED), 60, 1);
+  }
+
+  private static BookedSlotRow row(Long technicianId, LocalDate date, int hour) {
+    return new BookedSlotRow(null, technicianId, date, LocalTime.of(hour, 0), "Oil Change", null);
+  }
+
+  private static AvailabilityIndex indexOver(Map<LocalDate, List<BookedSlotRow>> bookings) {
+    AppointmentRepository repository = mock(AppointmentRepository.class);
+    when(repository.findBookedSlots(any(), any()))
+        .thenAnswer(
+            call -> {
+              LocalDate from = call.getArgument(0);
+              LocalDate to = call.getArgument(1);
+              return bookings.entrySet().stream()
+                  .filter(e -> !e.getKey().isBefore(from) && !e.getKey().isAfter(to))
+                  .flatMap(e -> e.getValue().stream())
+                  .collect(Collectors.toList());
+            });
+    return new AvailabilityIndex(repository);
+  }
+
+  /** The old unfiltered path: for each of 24 slots, stream the day's bookings. */
+  @Benchmark
+  public void legacyAllTechnicians(Blackhole bh) {
+    for (int d = 0; d < DAYS; d++) {
+      List<BookedSlotRow> day = bookings.get(firstDay.plusDays(d));
+      List<String> available = new ArrayList<>();
+      for (int hour = 0; hour < AvailabilityIndex.SLOTS_PER_DAY; hour++) {
+        LocalTime slot = LocalTime.of(hour, 0);
+        List<Long> busy =
+            day.stream()
+                .filter(b -> b.time().equals(slot))
+                .map(BookedSlotRow::technicianId)
+                .collect(Collectors.toList());
+        if (busy.size() < technicians.size()) {
+          available.add(String.format("%02d:00", hour));
+        }
+      }
+      bh.consume(available);
+    }
+  }
+
+  @Benchmark
+  public void indexAllTechnicians(Blackhole bh) {
+    for (int d = 0; d < DAYS; d++) {
+      bh.consume(
+          AvailabilityIndex.slotTimes(index.freeSlots(firstDay.plusDays(d), technicianIds, 60)));
+    }
+  }
+
+  @Benchmark
+  public void indexOneTechnician(Blackhole bh) {
+    List<Long> one = List.of(technicianIds.get(TECHNICIANS / 2));
+    for (int d = 0; d < DAYS; d++) {
+      bh.consume(AvailabilityIndex.slotTimes(index.freeSlots(firstDay.plusDays(d), one, 60)));
+    }
+  }
+
+  /** A three-hour job: a start is free only if the next three hours are. */
+  @Benchmark
+  public void indexAllTechniciansThreeHourJob(Blackhole bh) {
+    for (int d = 0; d < DAYS; d++) {
+      bh.consume(
+          AvailabilityIndex.slotTimes(index.freeSlots(firstDay.plusDays(d), technicianIds, 180)));
+    }
+  }
+
+  /** Next 10 free slots with any technician; found on the first day. */
+  @Benchmark
+  public void nextTenFreeSlots(Blackhole bh) {
+    bh.consume(index.nextFreeSlots(firstDay, 8, SIX_MONTHS, technicians, 60, 10));
+  }
+
+  /** No free slot in six months: the search scans every day before giving up. */
+  @Benchmark
+  public void nextFreeSlotsScanningSixMonths(Blackhole bh) {
+    bh.consume(
+        fullyBookedIndex.nextFreeSlots(firstDay, 0, SIX_MONTHS, List.of(FULLY_BOOKED), 60, 10));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(AvailabilityBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,144 @@
+package com.autocare360.benchmark;
+
+import com.autocare360.Autocare360Application;
+import com.autocare360.dto.CreateTimeLogRequestDTO;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.Employee;
+import com.autocare360.entity.TimeLog;
+import com.autocare360.entity.User;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.service.TimeLogService;
+import com.autocare360.support.TestFixtures;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Syncing a batch of offline time log entries: one {@code POST /api/time-logs} per entry (employee
+ * lookup, appointment lookup, insert, counter and actual-hours deltas) against a single {@link
+ * TimeLogService#createAll} call. Runs against the in-memory H2 test profile, so absolute numbers
+ * understate network round trips to MySQL.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.autocare360.benchmark.BulkTimeLogBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkTimeLogBenchmark {
+
+  @Param({"50", "300"})
+  public int entries;
+
+  private ConfigurableApplicationContext context;
+  private TimeLogService timeLogService;
+  private EmployeeRepository employeeRepository;
+  private AppointmentRepository appointmentRepository;
+  private JdbcTemplate jdbcTemplate;
+  private Long employeeId;
+  private List<CreateTimeLogRequestDTO> batch;
+
+  @Setup(Level.Trial)
+  public void startContext() {
+    context =
+        new SpringApplicationBuilder(Autocare360Application.class)
+            .profiles("test")
+            .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+            .run();
+    timeLogService = context.getBean(TimeLogService.class);
+    employeeRepository = context.getBean(EmployeeRepository.class);
+    appointmentRepository = context.getBean(AppointmentRepository.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    TestFixtures fixtures = context.getBean(TestFixtures.class);
+
+    employeeId = fixtures.employee("bench-tech");
+    User customer = fixtures.user("bench-customer");
+
+    // A day of work spread over a handful of jobs
+    List<Long> appointmentIds = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      appointmentIds.add(
+          appointmentRepository
+              .save(
+                  new Appointment(customer, "Oil Change", "Civic", LocalDate.now(), LocalTime.NOON))
+              .getId());
+    }
+    batch = new ArrayList<>(entries);
+    for (int i = 0; i < entries; i++) {
+      CreateTimeLogRequestDTO entry = new CreateTimeLogRequestDTO();
+      entry.setAppointmentId(appointmentIds.get(i % appointmentIds.size()));
+      entry.setHours(new BigDecimal("0.25"));
+      entry.setDate(LocalDate.now().minusDays(i % 3));
+      entry.setDescription("Offline entry " + i);
+      batch.add(entry);
+    }
+  }
+
+  // Keeps every invocation inserting into the same table size, and actual_hours (DECIMAL(5,2))
+  // from overflowing
+  @TearDown(Level.Invocation)
+  public void clearLogs() {
+    jdbcTemplate.update("DELETE FROM time_logs");
+    jdbcTemplate.update("UPDATE appointments SET actual_hours = 0");
+  }
+
+  @TearDown(Level.Trial)
+  public void stopContext() {
+    context.close();
+  }
+
+  /** What the tablet sync costs today: the single-entry endpoint's work, once per entry. */
+  @Benchmark
+  public void oneByOne(Blackhole bh) {
+    for (CreateTimeLogRequestDTO entry : batch) {
+      Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+      Appointment appointment =
+          appointmentRepository.findById(entry.getAppointmentId()).orElseThrow();
+      bh.consume(
+          timeLogService.create(
+              new TimeLog(
+                  employee,
+                  appointment,
+                  entry.getDate(),
+                  entry.getHours(),
+                  entry.getDescription())));
+    }
+  }
+
+  @Benchmark
+  public void bulk(Blackhole bh) {
+    bh.consume(timeLogService.createAll(employeeId, batch));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BulkTimeLogBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
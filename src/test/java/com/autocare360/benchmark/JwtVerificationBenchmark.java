@@ -0,0 +1,100 @@
+package com.autocare360.benchmark;
+
+import com.autocare360.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Compares the old per-call JWT handling (decode secret, build key and parser, parse the token once
+ * for each of validate / subject / roles) with the {@link JwtService} verification engine.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.autocare360.benchmark.JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+  private static final String SECRET = "dGVzdC1qd3Qtc2VjcmV0LWtleS1mb3ItYmVuY2htYXJraW5nLW9ubHk=";
+
+  private JwtService cachedEngine;
+  private JwtService uncachedEngine;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    cachedEngine = newService(10_000);
+    uncachedEngine = newService(0);
+    token = cachedEngine.generateToken("42", "tech@autocare360.com", new String[] {"employee"});
+  }
+
+  /** What a request paid before: filter validate + subject, then hasRole validate + roles. */
+  @Benchmark
+  public void legacyPerCallParsing(Blackhole bh) {
+    bh.consume(legacyParse(token));
+    bh.consume(legacyParse(token).getSubject());
+    bh.consume(legacyParse(token));
+    bh.consume(legacyParse(token).get("roles"));
+  }
+
+  /** Single parse with the pre-built key and parser, cache disabled. */
+  @Benchmark
+  public void engineColdParse(Blackhole bh) {
+    var claims = uncachedEngine.parse(token);
+    bh.consume(claims.subject());
+    bh.consume(claims.hasRole("EMPLOYEE"));
+  }
+
+  /** Same request shape served from the verified-token cache. */
+  @Benchmark
+  public void engineCachedPath(Blackhole bh) {
+    bh.consume(cachedEngine.isTokenValid(token));
+    bh.consume(cachedEngine.extractSubject(token));
+    bh.consume(cachedEngine.hasRole("Bearer " + token, "EMPLOYEE"));
+    List<String> roles = cachedEngine.extractRoles(token);
+    bh.consume(roles);
+  }
+
+  private static Claims legacyParse(String token) {
+    Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  }
+
+  private static JwtService newService(int cacheSize) {
+    JwtService service = new JwtService();
+    ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+    ReflectionTestUtils.setField(service, "accessTtlSeconds", 3600L);
+    ReflectionTestUtils.setField(service, "verifiedCacheSize", cacheSize);
+    ReflectionTestUtils.invokeMethod(service, "init");
+    return service;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JwtVerificationBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,100 @@
+package com.autocare360.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.autocare360.security.JwtService;
+import com.autocare360.service.DataVersionService;
+import com.autocare360.service.NotificationService;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetInterceptorTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private JwtService jwtService;
+
+  @Autowired private DataVersionService dataVersions;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @MockitoBean private NotificationService notificationService;
+
+  @Test
+  void unchangedDataIsAnsweredWith304WithoutCallingTheHandler() throws Exception {
+    when(notificationService.getUserNotifications(41L)).thenReturn(List.of());
+    String token = jwtService.generateToken("41", "poller@example.com", new String[] {"customer"});
+
+    String etag =
+        mockMvc
+            .perform(get("/api/notifications").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotBlank();
+
+    mockMvc
+        .perform(
+            get("/api/notifications")
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+    verify(notificationService, times(1)).getUserNotifications(41L);
+
+    dataVersions.bump(41L);
+
+    String newEtag =
+        mockMvc
+            .perform(
+                get("/api/notifications")
+                    .header("Authorization", "Bearer " + token)
+                    .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    assertThat(newEtag).isNotEqualTo(etag);
+    verify(notificationService, times(2)).getUserNotifications(41L);
+  }
+
+  @Test
+  void aBumpRolledBackWithItsWriteKeepsTheTag() {
+    String before = dataVersions.etagFor(44L, LocalDate.now());
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              dataVersions.bump(44L);
+              status.setRollbackOnly();
+            });
+    assertThat(dataVersions.etagFor(44L, LocalDate.now())).isEqualTo(before);
+
+    dataVersions.bump(44L);
+    assertThat(dataVersions.etagFor(44L, LocalDate.now())).isNotEqualTo(before);
+  }
+
+  @Test
+  void otherUsersWritesDoNotChangeTheTag() {
+    String before = dataVersions.etagFor(42L, LocalDate.now());
+    dataVersions.bump(43L);
+    assertThat(dataVersions.etagFor(42L, LocalDate.now())).isEqualTo(before);
+  }
+}
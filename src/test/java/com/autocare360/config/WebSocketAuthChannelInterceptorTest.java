@@ -0,0 +1,61 @@
+package com.autocare360.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.autocare360.entity.User;
+import com.autocare360.security.JwtService;
+import com.autocare360.security.TokenRevocationRegistry;
+import com.autocare360.support.TestFixtures;
+import java.security.Principal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WebSocketAuthChannelInterceptorTest {
+
+  @Autowired private WebSocketAuthChannelInterceptor interceptor;
+  @Autowired private JwtService jwtService;
+  @Autowired private TokenRevocationRegistry revocationRegistry;
+  @Autowired private TestFixtures fixtures;
+
+  @Test
+  void revokedTokensWithAnEmailSubjectCannotConnect() {
+    User user = fixtures.user("legacy-ws");
+    String revoked = legacyToken(user);
+    String live = legacyToken(user);
+    assertEquals(user.getEmail(), connect(revoked));
+
+    revocationRegistry.revokeToken(jwtService.verify(revoked).orElseThrow());
+    assertNull(connect(revoked));
+    assertEquals(user.getEmail(), connect(live));
+
+    revocationRegistry.invalidateUser(user.getId());
+    assertNull(connect(live));
+  }
+
+  // Tokens issued before subjects became user ids
+  private String legacyToken(User user) {
+    return jwtService.generateToken(user.getEmail(), user.getEmail(), new String[] {"customer"});
+  }
+
+  // Name of the principal a CONNECT with the token is given, or null if it is refused
+  private String connect(String token) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+    accessor.setNativeHeader("Authorization", "Bearer " + token);
+    accessor.setLeaveMutable(true);
+    Message<?> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    Message<?> sent = interceptor.preSend(message, (m, timeout) -> true);
+    Principal principal =
+        MessageHeaderAccessor.getAccessor(sent, StompHeaderAccessor.class).getUser();
+    return principal != null ? principal.getName() : null;
+  }
+}
@@ -0,0 +1,207 @@
+package com.autocare360.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.autocare360.dto.AssignedJobDTO;
+import com.autocare360.dto.EmployeeDashboardOverviewDTO;
+import com.autocare360.dto.EmployeeDashboardSummaryDTO;
+import com.autocare360.dto.UpdateJobStatusRequestDTO;
+import com.autocare360.dto.WorkloadWeekDTO;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.TimeLog;
+import com.autocare360.entity.User;
+import com.autocare360.exception.ConflictException;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.service.TaskDistributionService;
+import com.autocare360.service.TimeLogService;
+import com.autocare360.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeDashboardControllerTest {
+
+  @Autowired private EmployeeDashboardController controller;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private TimeLogService timeLogService;
+  @Autowired private TaskDistributionService taskDistribution;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private User customer;
+  private User technician;
+  private Statistics statistics;
+  private int jobsAdded;
+
+  @BeforeEach
+  void setUp() {
+    customer = fixtures.user("customer", "Jane Customer");
+    technician = fixtures.user("tech", "Tom Tech");
+    fixtures.employee(technician);
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+  }
+
+  @Test
+  void assignedJobsStatementCountDoesNotGrowWithJobs() {
+    addJobs(2);
+    long fewJobs = statementsForAssignedJobs(2);
+
+    addJobs(40);
+    long manyJobs = statementsForAssignedJobs(42);
+
+    assertEquals(fewJobs, manyJobs);
+    assertTrue(manyJobs <= 2, "expected at most two statements, got " + manyJobs);
+  }
+
+  @Test
+  void assignedJobsCarryCustomerNameLoggedHoursAndProgress() {
+    addJobs(1);
+
+    AssignedJobDTO job =
+        controller.getAssignedJobs(null, false, technician.getId()).getBody().get(0);
+
+    assertEquals("Jane Customer", job.getCustomer());
+    assertEquals(customer.getId(), job.getCustomerId());
+    assertEquals(0, new BigDecimal("1.50").compareTo(job.getLoggedHours()));
+    assertEquals(37, job.getProgress()); // 1.5 of 4 estimated hours
+  }
+
+  @Test
+  void summaryComputesEveryCounterInOneStatement() {
+    addJobs(3);
+
+    statistics.clear();
+    EmployeeDashboardSummaryDTO summary =
+        controller.getDashboardSummary(technician.getId()).getBody();
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals("Tom Tech", summary.getEmployeeName());
+    assertEquals(3, summary.getActiveJobs());
+    assertEquals(3, summary.getJobsInProgress());
+    assertEquals(0, summary.getCompletedThisMonth());
+    assertEquals(0, new BigDecimal("4.50").compareTo(summary.getTodayHours()));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void workloadRangeReturnsEveryWeekFromOneQuery() {
+    addJobs(2);
+
+    statistics.clear();
+    List<WorkloadWeekDTO> weeks =
+        (List<WorkloadWeekDTO>)
+            controller.getWeeklyWorkloadRange(12, 0, technician.getId()).getBody();
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(12, weeks.size());
+    WorkloadWeekDTO current = weeks.get(11);
+    assertEquals(7, current.days().size());
+    assertEquals(0, new BigDecimal("3.00").compareTo(current.totalHours()));
+    assertEquals(0, BigDecimal.ZERO.compareTo(weeks.get(0).totalHours()));
+  }
+
+  @Test
+  void overviewCombinesEveryWidget() {
+    addJobs(2);
+    taskDistribution.rebuild(); // jobs are saved through the repository, not AppointmentService
+
+    EmployeeDashboardOverviewDTO overview =
+        controller.getOverview("month", technician.getId()).getBody();
+
+    assertTrue(overview.errors().isEmpty(), "unexpected errors " + overview.errors());
+    assertEquals("Tom Tech", overview.summary().getEmployeeName());
+    assertEquals(2, overview.assignedJobs().size());
+    assertEquals(1, overview.todayAppointments().size());
+    assertEquals("Jane Customer", overview.todayAppointments().get(0).getCustomer());
+    assertEquals(7, overview.weeklyWorkload().size());
+    assertEquals("Oil Change", overview.taskDistribution().get(0).getName());
+  }
+
+  @Test
+  void overviewReturnsPartialResultsWhenAWidgetFails() {
+    // A user without an employees row: the summary widget fails, the others still answer
+    EmployeeDashboardOverviewDTO overview =
+        controller.getOverview("month", customer.getId()).getBody();
+
+    assertNull(overview.summary());
+    assertEquals("failed", overview.errors().get("summary"));
+    assertEquals(1, overview.errors().size());
+    assertTrue(overview.assignedJobs().isEmpty());
+  }
+
+  private long statementsForAssignedJobs(int expectedJobs) {
+    statistics.clear();
+    List<AssignedJobDTO> jobs =
+        controller.getAssignedJobs(null, false, technician.getId()).getBody();
+    assertEquals(expectedJobs, jobs.size());
+    return statistics.getPrepareStatementCount();
+  }
+
+  @Test
+  void reopeningACancelledJobCannotTakeBackItsTime() {
+    LocalDate date = LocalDate.now().plusDays(800);
+    Appointment cancelled = booking("Brake Service", date, LocalTime.of(10, 0)); // 3 hours
+    cancelled.setStatus("CANCELLED");
+    cancelled = appointmentRepository.save(cancelled);
+    // Booked since the cancellation, inside the brake job's hours
+    appointmentRepository.save(booking("Oil Change", date, LocalTime.of(11, 0)));
+
+    Long jobId = cancelled.getId();
+    assertThrows(ConflictException.class, () -> controller.startJob(jobId, technician.getId()));
+    UpdateJobStatusRequestDTO reopen = new UpdateJobStatusRequestDTO();
+    reopen.setStatus("PENDING");
+    assertThrows(
+        ConflictException.class,
+        () -> controller.updateJobStatus(jobId, reopen, technician.getId()));
+    assertEquals("CANCELLED", appointmentRepository.findById(jobId).orElseThrow().getStatus());
+  }
+
+  private Appointment booking(String service, LocalDate date, LocalTime time) {
+    Appointment appointment = new Appointment(customer, service, "Toyota Corolla", date, time);
+    appointment.setTechnician(technician.getName());
+    appointment.setAssignedUser(technician);
+    return appointment;
+  }
+
+  private void addJobs(int count) {
+    for (int i = 0; i < count; i++) {
+      Appointment appointment =
+          new Appointment(
+              customer,
+              "Oil Change",
+              "Toyota Corolla",
+              LocalDate.now().plusDays(i),
+              LocalTime.NOON.plusMinutes(jobsAdded++));
+      appointment.setAssignedUser(technician);
+      appointment.setStatus("IN_PROGRESS");
+      appointment.setEstimatedHours(new BigDecimal("4.00"));
+      appointment = appointmentRepository.save(appointment);
+
+      timeLogService.create(
+          new TimeLog(
+              employeeRepository.getReferenceById(technician.getId()),
+              appointment,
+              LocalDate.now(),
+              new BigDecimal("1.50"),
+              "Work"));
+    }
+  }
+}
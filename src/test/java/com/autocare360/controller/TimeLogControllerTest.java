@@ -0,0 +1,184 @@
+package com.autocare360.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.autocare360.dto.TimeLogPageDTO;
+import com.autocare360.dto.TimeLogResponseDTO;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.TimeLog;
+import com.autocare360.entity.Timer;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.repo.TimerRepository;
+import com.autocare360.security.JwtService;
+import com.autocare360.service.TimeLogService;
+import com.autocare360.support.TestFixtures;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TimeLogControllerTest {
+
+  @Autowired private TimeLogController controller;
+  @Autowired private TimeLogService timeLogService;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private TimerRepository timerRepository;
+  @Autowired private JwtService jwtService;
+  @Autowired private MockMvc mockMvc;
+
+  private Long employeeId;
+  private Appointment appointment;
+
+  @BeforeEach
+  void setUp() {
+    employeeId = fixtures.employee(fixtures.user("tech", "Tina Tech"));
+    appointment =
+        appointmentRepository.save(
+            new Appointment(
+                fixtures.user("customer", "Carl"),
+                "Oil Change",
+                "Civic",
+                LocalDate.now(),
+                LocalTime.NOON));
+  }
+
+  @Test
+  void pagesWalkTheWholeHistoryNewestFirstWithOneStatementEach() {
+    // Several logs share a date (and possibly created_at), so the id breaks ties
+    for (int i = 0; i < 7; i++) {
+      timeLogService.create(
+          new TimeLog(
+              employeeRepository.getReferenceById(employeeId),
+              appointment,
+              LocalDate.now().minusDays(i / 3),
+              new BigDecimal("1.00"),
+              "Entry " + i));
+    }
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    List<TimeLogResponseDTO> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      statistics.clear();
+      TimeLogPageDTO page =
+          (TimeLogPageDTO) controller.getTimeLogPage(cursor, 3, employeeId).getBody();
+      assertEquals(1, statistics.getPrepareStatementCount());
+      seen.addAll(page.items());
+      cursor = page.nextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(3, pages);
+    List<TimeLogResponseDTO> all = controller.getTimeLogs(null, null, employeeId).getBody();
+    assertEquals(
+        all.stream().map(TimeLogResponseDTO::getId).toList(),
+        seen.stream().map(TimeLogResponseDTO::getId).toList());
+    TimeLogResponseDTO newest = seen.get(0);
+    assertEquals("Oil Change - Civic", newest.getProject());
+    assertEquals("Carl", newest.getCustomer());
+    assertEquals("Tina Tech", newest.getEmployeeName());
+  }
+
+  @Test
+  void writeEndpointsAnswerWithTheSavedLogAndItsNames() throws Exception {
+    String token =
+        jwtService.generateToken(
+            employeeId.toString(), "tina@example.com", new String[] {"employee"});
+    String today = LocalDate.now().toString();
+
+    String created =
+        mockMvc
+            .perform(
+                post("/api/time-logs")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        "{\"appointmentId\": %d, \"hours\": 1.50, \"description\": \"Drain\", \"date\": \"%s\"}"
+                            .formatted(appointment.getId(), today)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.project").value("Oil Change - Civic"))
+            .andExpect(jsonPath("$.customer").value("Carl"))
+            .andExpect(jsonPath("$.employeeName").value("Tina Tech"))
+            .andExpect(jsonPath("$.hours").value(1.5))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    Number id = JsonPath.read(created, "$.id");
+
+    mockMvc
+        .perform(
+            put("/api/time-logs/" + id)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"appointmentId\": %d, \"hours\": 2.00}".formatted(appointment.getId())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(id.longValue()))
+        .andExpect(jsonPath("$.project").value("Oil Change - Civic"))
+        .andExpect(jsonPath("$.customer").value("Carl"))
+        .andExpect(jsonPath("$.hours").value(2.0));
+
+    Timer timer = new Timer(employeeRepository.findById(employeeId).orElseThrow(), appointment);
+    timer.setStartTime(LocalDateTime.now().minusMinutes(30));
+    timer = timerRepository.save(timer);
+    mockMvc
+        .perform(
+            post("/api/time-logs/timer/stop")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"timerId\": %d, \"description\": \"Filter\"}".formatted(timer.getId())))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.project").value("Oil Change - Civic"))
+        .andExpect(jsonPath("$.customer").value("Carl"))
+        .andExpect(jsonPath("$.employeeName").value("Tina Tech"))
+        .andExpect(jsonPath("$.hours").value(0.5));
+
+    assertEquals(
+        0,
+        new BigDecimal("2.50")
+            .compareTo(
+                appointmentRepository
+                    .findById(appointment.getId())
+                    .orElseThrow()
+                    .getActualHours()));
+  }
+
+  @Test
+  void lastPageHasNoCursorAndBadInputIsRejected() {
+    TimeLogPageDTO empty =
+        (TimeLogPageDTO) controller.getTimeLogPage(null, 10, employeeId).getBody();
+    assertEquals(0, empty.items().size());
+    assertNull(empty.nextCursor());
+
+    assertEquals(
+        400, controller.getTimeLogPage("not-a-cursor", 10, employeeId).getStatusCode().value());
+    assertEquals(400, controller.getTimeLogPage(null, 0, employeeId).getStatusCode().value());
+  }
+}
@@ -0,0 +1,81 @@
+package com.autocare360.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRevocationRegistryTest {
+
+  @Autowired private TokenRevocationRegistry revocationRegistry;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void revokedTokenStaysRevokedAcrossReload() {
+    JwtClaims revoked = claims(7L, Instant.now());
+    JwtClaims other = claims(7L, Instant.now());
+
+    revocationRegistry.revokeToken(revoked);
+    revocationRegistry.reload();
+
+    assertTrue(revocationRegistry.isRevoked(7L, revoked));
+    assertFalse(revocationRegistry.isRevoked(7L, other));
+  }
+
+  @Test
+  void invalidatedUserOnlyRejectsOlderTokens() {
+    JwtClaims before = claims(8L, Instant.now().minusSeconds(60));
+    revocationRegistry.invalidateUser(8L);
+    JwtClaims after = claims(8L, Instant.now().plusSeconds(1));
+
+    assertTrue(revocationRegistry.isRevoked(8L, before));
+    assertFalse(revocationRegistry.isRevoked(8L, after));
+    assertFalse(revocationRegistry.isRevoked(9L, claims(9L, Instant.now().minusSeconds(60))));
+  }
+
+  @Test
+  void tokenIssuedInTheSameSecondAsTheCutoffIsRejected() {
+    JwtClaims sameSecond = claims(10L, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    revocationRegistry.invalidateUser(10L);
+
+    assertTrue(revocationRegistry.isRevoked(10L, sameSecond));
+  }
+
+  @Test
+  void invalidationTakesEffectOnlyWhenTheCallerCommits() {
+    JwtClaims live = claims(11L, Instant.now().minusSeconds(60));
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    transaction.executeWithoutResult(
+        status -> {
+          revocationRegistry.invalidateUser(11L);
+          status.setRollbackOnly();
+        });
+    revocationRegistry.reload();
+    assertFalse(revocationRegistry.isRevoked(11L, live));
+
+    transaction.executeWithoutResult(status -> revocationRegistry.invalidateUser(11L));
+    assertTrue(revocationRegistry.isRevoked(11L, live));
+  }
+
+  private static JwtClaims claims(long userId, Instant issuedAt) {
+    return new JwtClaims(
+        UUID.randomUUID().toString(),
+        String.valueOf(userId),
+        "user" + userId + "@example.com",
+        List.of("customer"),
+        issuedAt,
+        issuedAt.plusSeconds(3600));
+  }
+}
@@ -0,0 +1,63 @@
+package com.autocare360.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.autocare360.service.VehicleService;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenVerificationCountTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private JwtService jwtService;
+
+  @MockitoBean private VehicleService vehicleService;
+
+  @Test
+  void vehicleListVerifiesTokenOnce() throws Exception {
+    when(vehicleService.listByUser(7L)).thenReturn(List.of());
+    String token = jwtService.generateToken("7", "customer@example.com", new String[] {"customer"});
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/vehicles").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    assertThat(verifications(result)).isEqualTo(1);
+  }
+
+  @Test
+  void adminOnlyEndpointRejectsCustomerAfterSingleVerification() throws Exception {
+    String token = jwtService.generateToken("8", "other@example.com", new String[] {"customer"});
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/vehicles/user/5").header("Authorization", "Bearer " + token))
+            .andExpect(status().isForbidden())
+            .andReturn();
+
+    assertThat(verifications(result)).isEqualTo(1);
+  }
+
+  private static int verifications(MvcResult result) {
+    AtomicInteger count =
+        (AtomicInteger) result.getRequest().getAttribute(JwtService.VERIFICATION_COUNT_ATTRIBUTE);
+    return count == null ? 0 : count.get();
+  }
+}
@@ -0,0 +1,123 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.Employee;
+import com.autocare360.entity.Notification;
+import com.autocare360.entity.Timer;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.repo.NotificationRepository;
+import com.autocare360.repo.TimerRepository;
+import com.autocare360.support.TestFixtures;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AbandonedTimerSweeperTest {
+
+  @Autowired private AbandonedTimerSweeper sweeper;
+  @Autowired private ActiveTimerRegistry activeTimers;
+  @Autowired private TimerRepository timerRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private NotificationRepository notificationRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final LocalDateTime now = LocalDateTime.now();
+  private Appointment appointment;
+  private final List<Long> staleEmployees = new ArrayList<>();
+  private final List<Long> staleTimers = new ArrayList<>();
+  private Long freshEmployee;
+  private Long freshTimer;
+
+  @BeforeEach
+  void setUp() {
+    // Two batches of two, so the sweep has to loop
+    ReflectionTestUtils.setField(sweeper, "batchSize", 2);
+    appointment =
+        appointmentRepository.save(
+            new Appointment(
+                fixtures.user("customer"),
+                "Brake Service",
+                "Golf",
+                LocalDate.now(),
+                LocalTime.NOON));
+    for (int i = 0; i < 3; i++) {
+      Long employeeId = fixtures.employee("tech");
+      staleEmployees.add(employeeId);
+      staleTimers.add(timer(employeeId, now.minusHours(20 + i)));
+    }
+    freshEmployee = fixtures.employee("tech");
+    freshTimer = timer(freshEmployee, now.minusHours(1));
+    activeTimers.load();
+  }
+
+  @AfterEach
+  void restoreBatchSize() {
+    ReflectionTestUtils.setField(sweeper, "batchSize", 200);
+  }
+
+  @Test
+  void stopsOnlyStaleTimersAndLogsCappedHours() {
+    assertEquals(3, sweeper.sweep(now));
+
+    for (int i = 0; i < staleTimers.size(); i++) {
+      Timer timer = timerRepository.findById(staleTimers.get(i)).orElseThrow();
+      assertFalse(timer.getIsActive());
+      assertTrue(activeTimers.find(staleEmployees.get(i)).isEmpty());
+
+      Map<String, Object> log =
+          jdbcTemplate.queryForMap(
+              "SELECT hours, status, date FROM time_logs WHERE employee_id = ?",
+              staleEmployees.get(i));
+      assertEquals(0, new BigDecimal("8.00").compareTo((BigDecimal) log.get("hours")));
+      assertEquals("PENDING_APPROVAL", log.get("status"));
+      assertEquals(
+          now.minusHours(20 + i).toLocalDate(), ((java.sql.Date) log.get("date")).toLocalDate());
+
+      List<Notification> notifications =
+          notificationRepository.findByUserIdOrderByCreatedAtDesc(staleEmployees.get(i));
+      assertEquals(1, notifications.size());
+      assertEquals("TIMER_AUTO_STOPPED", notifications.get(0).getType());
+    }
+
+    assertTrue(timerRepository.findById(freshTimer).orElseThrow().getIsActive());
+    assertTrue(activeTimers.find(freshEmployee).isPresent());
+    assertEquals(
+        0,
+        new BigDecimal("24.00")
+            .compareTo(
+                appointmentRepository
+                    .findById(appointment.getId())
+                    .orElseThrow()
+                    .getActualHours()));
+
+    assertEquals(0, sweeper.sweep(now));
+  }
+
+  private Long timer(Long employeeId, LocalDateTime startTime) {
+    Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+    Timer timer = new Timer(employee, appointment);
+    timer.setStartTime(startTime);
+    return timerRepository.save(timer).getId();
+  }
+}
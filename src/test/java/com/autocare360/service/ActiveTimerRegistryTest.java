@@ -0,0 +1,116 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.autocare360.dto.ActiveTimer;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.TimeLog;
+import com.autocare360.entity.Timer;
+import com.autocare360.exception.ConflictException;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.TimerRepository;
+import com.autocare360.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActiveTimerRegistryTest {
+
+  @Autowired private ActiveTimerRegistry activeTimers;
+  @Autowired private TimeLogService timeLogService;
+  @Autowired private TimerRepository timerRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private Long employeeId;
+  private Appointment appointment;
+
+  @BeforeEach
+  void setUp() {
+    employeeId = fixtures.employee("tech");
+    appointment =
+        appointmentRepository.save(
+            new Appointment(
+                fixtures.user("customer"),
+                "Brake Service",
+                "Golf",
+                LocalDate.now(),
+                LocalTime.NOON));
+  }
+
+  @Test
+  void startedTimerIsReadFromMemoryAndSurvivesReload() {
+    ActiveTimer started = activeTimers.start(employeeId, appointment.getId());
+    assertThrows(
+        ConflictException.class, () -> activeTimers.start(employeeId, appointment.getId()));
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    ActiveTimer found = activeTimers.find(employeeId).orElseThrow();
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertEquals(started.timerId(), found.timerId());
+    assertEquals("Brake Service - Golf", found.projectName());
+
+    activeTimers.load();
+    assertEquals(started.timerId(), activeTimers.find(employeeId).orElseThrow().timerId());
+  }
+
+  @Test
+  void stoppingThroughTheTimeLogServiceClearsTheRegistry() {
+    ActiveTimer started = activeTimers.start(employeeId, appointment.getId());
+    Timer timer = timerRepository.findById(started.timerId()).orElseThrow();
+
+    timeLogService.createFromTimer(
+        new TimeLog(
+            timer.getEmployee(), appointment, LocalDate.now(), new BigDecimal("0.50"), "Pads"),
+        timer,
+        LocalDateTime.now());
+
+    assertTrue(activeTimers.find(employeeId).isEmpty());
+    activeTimers.load();
+    assertTrue(activeTimers.find(employeeId).isEmpty());
+  }
+
+  @Test
+  void reloadingWhileAStartIsInFlightKeepsItsSlot() throws Exception {
+    ActiveTimer started =
+        new TransactionTemplate(transactionManager)
+            .execute(
+                status -> {
+                  ActiveTimer timer = activeTimers.start(employeeId, appointment.getId());
+                  // Other threads, so the reload reads only committed timers and the rejected
+                  // start does not mark this transaction rollback-only
+                  CompletableFuture.runAsync(activeTimers::load).join();
+                  assertTrue(activeTimers.find(employeeId).isEmpty());
+                  CompletableFuture<ActiveTimer> second =
+                      CompletableFuture.supplyAsync(
+                          () -> activeTimers.start(employeeId, appointment.getId()));
+                  ExecutionException rejected = assertThrows(ExecutionException.class, second::get);
+                  assertInstanceOf(ConflictException.class, rejected.getCause());
+                  return timer;
+                });
+
+    assertEquals(started.timerId(), activeTimers.find(employeeId).orElseThrow().timerId());
+  }
+}
@@ -0,0 +1,189 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.autocare360.dto.AppointmentRequest;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.User;
+import com.autocare360.exception.ConflictException;
+import com.autocare360.exception.GlobalExceptionHandler;
+import com.autocare360.exception.ServiceBusyException;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.support.TestFixtures;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentBookingConcurrencyTest {
+
+  private static final int TECHNICIANS = 3;
+  private static final int HOURS = 20;
+  private static final int REQUESTS_PER_SLOT = 5;
+
+  @Autowired private AppointmentService appointmentService;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private TechnicianDirectory technicianDirectory;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private User customer;
+  private final List<User> technicians = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    customer = fixtures.user("customer");
+    for (int t = 0; t < TECHNICIANS; t++) {
+      technicians.add(fixtures.technician("tech-" + t));
+    }
+    // Saved through the repository, not EmployeeService
+    technicianDirectory.invalidate();
+  }
+
+  @Test
+  void parallelBookingsOfTheSameSlotsSucceedOncePerSlot() throws Exception {
+    LocalDate date = LocalDate.now().plusDays(600);
+    int requests = TECHNICIANS * HOURS * REQUESTS_PER_SLOT;
+    AtomicInteger booked = new AtomicInteger();
+    AtomicInteger conflicts = new AtomicInteger();
+    AtomicInteger busy = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService pool = Executors.newFixedThreadPool(48);
+    List<Future<?>> results = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      User technician = technicians.get(i % TECHNICIANS);
+      int hour = (i / TECHNICIANS) % HOURS;
+      results.add(
+          pool.submit(
+              () -> {
+                start.await();
+                try {
+                  appointmentService.create(request(technician, date, hour));
+                  booked.incrementAndGet();
+                } catch (ConflictException e) {
+                  conflicts.incrementAndGet();
+                } catch (ServiceBusyException e) {
+                  busy.incrementAndGet();
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> result : results) {
+      result.get(60, TimeUnit.SECONDS); // rethrows anything other than a rejected booking
+    }
+    pool.shutdown();
+
+    assertEquals(TECHNICIANS * HOURS, booked.get());
+    assertEquals(requests - booked.get(), conflicts.get() + busy.get());
+    Integer doubleBooked =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT technician, time FROM appointments WHERE date = ? "
+                + "AND status <> 'CANCELLED' GROUP BY technician, time HAVING COUNT(*) > 1) d",
+            Integer.class,
+            date);
+    assertEquals(0, doubleBooked);
+  }
+
+  @Test
+  void uniqueSlotConstraintCatchesBookingsTheIndexHasNotSeen() {
+    LocalDate date = LocalDate.now().plusDays(601);
+    User technician = technicians.get(0);
+    appointmentService.create(request(technician, date, 9));
+
+    // Written around the service, e.g. by another instance
+    Appointment elsewhere =
+        new Appointment(customer, "Oil Change", "Civic", date, LocalTime.of(10, 0));
+    elsewhere.setTechnician(technician.getName());
+    elsewhere.setAssignedUser(technician);
+    appointmentRepository.save(elsewhere);
+
+    ConflictException unseen =
+        assertThrows(
+            ConflictException.class,
+            () -> appointmentService.create(request(technician, date, 10)));
+    ConflictException seen =
+        assertThrows(
+            ConflictException.class, () -> appointmentService.create(request(technician, date, 9)));
+    assertEquals(ConflictException.SLOT_TAKEN, unseen.getCode());
+    assertEquals(ConflictException.SLOT_TAKEN, seen.getCode());
+    Map<?, ?> body = (Map<?, ?>) new GlobalExceptionHandler().handleConflict(seen).getBody();
+    assertEquals(
+        Map.of("code", ConflictException.SLOT_TAKEN, "message", seen.getMessage()),
+        body.get("error"));
+
+    Appointment duplicate =
+        new Appointment(customer, "Oil Change", "Civic", date, LocalTime.of(10, 0));
+    duplicate.setAssignedUser(technician);
+    assertThrows(
+        DataIntegrityViolationException.class, () -> appointmentRepository.save(duplicate));
+
+    Appointment cancelled =
+        new Appointment(customer, "Oil Change", "Civic", date, LocalTime.of(10, 0));
+    cancelled.setAssignedUser(technician);
+    cancelled.setStatus("CANCELLED");
+    assertTrue(appointmentRepository.save(cancelled).getId() != null);
+  }
+
+  @Test
+  void doubleBookingsLeftUnmarkedByTheMigrationCanStillBeEdited() {
+    LocalDate date = LocalDate.now().plusDays(602);
+    User technician = technicians.get(1);
+    Appointment kept = new Appointment(customer, "Oil Change", "Civic", date, LocalTime.of(9, 0));
+    kept.setAssignedUser(technician);
+    appointmentRepository.save(kept);
+    Appointment extra = new Appointment(customer, "Oil Change", "Golf", date, LocalTime.of(9, 0));
+    extra.setAssignedUser(technician);
+    extra.setStatus("CANCELLED");
+    Long extraId = appointmentRepository.save(extra).getId();
+    // What V14 leaves behind for the newer row of an existing double booking
+    jdbcTemplate.update("UPDATE appointments SET status = 'PENDING' WHERE id = ?", extraId);
+
+    Appointment edited = appointmentRepository.findById(extraId).orElseThrow();
+    edited.setNotes("Customer called");
+    edited.setStatus("IN_PROGRESS");
+    appointmentRepository.save(edited);
+    assertNull(activeSlotOf(extraId));
+
+    Appointment moved = appointmentRepository.findById(extraId).orElseThrow();
+    moved.setTime(LocalTime.of(11, 0));
+    appointmentRepository.save(moved);
+    assertEquals(1, activeSlotOf(extraId));
+  }
+
+  private Integer activeSlotOf(Long appointmentId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT active_slot FROM appointments WHERE id = ?", Integer.class, appointmentId);
+  }
+
+  private AppointmentRequest request(User technician, LocalDate date, int hour) {
+    AppointmentRequest request = new AppointmentRequest();
+    request.setUserId(customer.getId());
+    request.setService("Oil Change");
+    request.setVehicle("Civic");
+    request.setDate(date);
+    request.setTime(LocalTime.of(hour, 0));
+    request.setTechnician(technician.getName());
+    return request;
+  }
+}
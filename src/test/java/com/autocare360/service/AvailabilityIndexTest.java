@@ -0,0 +1,231 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.autocare360.dto.AppointmentRequest;
+import com.autocare360.dto.AppointmentResponse;
+import com.autocare360.dto.FreeSlotDTO;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.User;
+import com.autocare360.exception.ConflictException;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AvailabilityIndexTest {
+
+  @Autowired private AppointmentService appointmentService;
+  @Autowired private TechnicianDirectory technicianDirectory;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private User customer;
+  private User first;
+  private User second;
+
+  @BeforeEach
+  void setUp() {
+    customer = fixtures.user("customer");
+    first = fixtures.technician("first-tech");
+    second = fixtures.technician("second-tech");
+    // Saved through the repository, not EmployeeService
+    technicianDirectory.invalidate();
+  }
+
+  @Test
+  void bookingsAreTrackedInMemoryAfterTheFirstRead() {
+    LocalDate date = LocalDate.now().plusDays(401);
+    AppointmentResponse morning = appointmentService.create(request(first, date, 10));
+    assertFalse(slots(date, first.getName()).contains("10:00"));
+    assertEquals(23, slots(date, first.getName()).size());
+    slots(date, null);
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    assertTrue(slots(date, second.getName()).contains("10:00"));
+    assertTrue(slots(date, null).contains("10:00"));
+    assertEquals(0, statistics.getPrepareStatementCount());
+
+    appointmentService.create(request(first, date, 14));
+    assertFalse(slots(date, first.getName()).contains("14:00"));
+
+    AppointmentRequest cancel = new AppointmentRequest();
+    cancel.setStatus("CANCELLED");
+    appointmentService.update(morning.getId(), cancel);
+    assertTrue(slots(date, first.getName()).contains("10:00"));
+    assertFalse(slots(date, first.getName()).contains("14:00"));
+  }
+
+  @Test
+  void slotIsTakenOnlyWhenEveryTechnicianIsBooked() {
+    LocalDate date = LocalDate.now().plusDays(402);
+    List<String> technicians = technicianDirectory.names();
+    assertTrue(technicians.contains(first.getName()));
+
+    AppointmentResponse last = null;
+    for (String technician : technicians) {
+      AppointmentRequest request = request(first, date, 9);
+      request.setTechnician(technician);
+      last = appointmentService.create(request);
+    }
+    assertFalse(slots(date, null).contains("09:00"));
+    assertTrue(slots(date, null).contains("08:00"));
+
+    appointmentService.delete(last.getId());
+    assertTrue(slots(date, null).contains("09:00"));
+  }
+
+  @Test
+  void nextFreeSlotsSkipBookedHoursAndRunIntoTheNextDay() {
+    LocalDate date = LocalDate.now().plusDays(403);
+    for (int hour = 0; hour < 23; hour++) {
+      appointmentService.create(request(first, date, hour));
+    }
+
+    List<FreeSlotDTO> next =
+        appointmentService.findNextFreeSlots("Oil Change", first.getName(), date, 3, 3);
+
+    assertEquals(
+        List.of(
+            new FreeSlotDTO(date, "23:00", List.of(first.getName())),
+            new FreeSlotDTO(date.plusDays(1), "00:00", List.of(first.getName())),
+            new FreeSlotDTO(date.plusDays(1), "01:00", List.of(first.getName()))),
+        next);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> appointmentService.findNextFreeSlots("Oil Change", null, date, 365, 3));
+  }
+
+  @Test
+  void bookingsBlockTheirWholeJobLength() {
+    LocalDate date = LocalDate.now().plusDays(404);
+    AppointmentRequest brakes = request(first, date, 10);
+    brakes.setService("Brake Service"); // 3 hours
+    AppointmentResponse brakeJob = appointmentService.create(brakes);
+
+    List<String> oilChange = slots(date, first.getName());
+    assertFalse(oilChange.contains("10:00") || oilChange.contains("11:00"));
+    assertFalse(oilChange.contains("12:00"));
+    assertTrue(oilChange.contains("09:00") && oilChange.contains("13:00"));
+    List<String> brakeService =
+        appointmentService.getAvailability(date, first.getName(), "Brake Service").getTimeSlots();
+    assertFalse(brakeService.contains("08:00") || brakeService.contains("09:00"));
+    assertFalse(brakeService.contains("22:00"));
+    assertTrue(brakeService.contains("07:00") && brakeService.contains("21:00"));
+    assertThrows(
+        ConflictException.class, () -> appointmentService.create(request(first, date, 12)));
+
+    AppointmentRequest longOilChange = request(first, date, 13);
+    longOilChange.setEstimatedHours(new BigDecimal("1.5"));
+    appointmentService.create(longOilChange);
+    assertThrows(
+        ConflictException.class, () -> appointmentService.create(request(first, date, 14)));
+    assertTrue(slots(date, first.getName()).contains("15:00"));
+
+    // Moving a job onto hours it already holds only has to clear the other bookings
+    AppointmentRequest earlier = new AppointmentRequest();
+    earlier.setTime(LocalTime.of(9, 0));
+    appointmentService.update(brakeJob.getId(), earlier);
+    assertTrue(slots(date, first.getName()).contains("12:00"));
+    AppointmentRequest later = new AppointmentRequest();
+    later.setTime(LocalTime.of(11, 0));
+    assertThrows(ConflictException.class, () -> appointmentService.update(brakeJob.getId(), later));
+
+    AppointmentRequest tooLong = request(first, date, 20);
+    tooLong.setEstimatedHours(BigDecimal.valueOf(25));
+    assertThrows(IllegalArgumentException.class, () -> appointmentService.create(tooLong));
+  }
+
+  @Test
+  void overlappingLegacyBookingsStillBlockEveryHourTheyCover() {
+    LocalDate date = LocalDate.now().plusDays(450);
+    // Booked as one-hour slots before job lengths were checked
+    legacy("Brake Service", date, 10); // 10:00-13:00
+    legacy("Oil Change", date, 11);
+    Appointment sameStartShort = legacy("Oil Change", date, 15);
+    Appointment sameStartLong = legacy("Brake Service", date, 15); // 15:00-18:00
+
+    assertThrows(
+        ConflictException.class, () -> appointmentService.create(request(first, date, 12)));
+    assertThrows(
+        ConflictException.class, () -> appointmentService.create(request(first, date, 17)));
+    assertFalse(slots(date, first.getName()).contains("12:00"));
+    assertTrue(slots(date, first.getName()).contains("13:00"));
+
+    AppointmentRequest earlier = new AppointmentRequest();
+    earlier.setTime(LocalTime.of(14, 0));
+    assertThrows(
+        ConflictException.class, () -> appointmentService.update(sameStartLong.getId(), earlier));
+    AppointmentRequest later = new AppointmentRequest();
+    later.setTime(LocalTime.of(16, 0));
+    assertThrows(
+        ConflictException.class, () -> appointmentService.update(sameStartShort.getId(), later));
+  }
+
+  @Test
+  void bookingsFollowTheAssignedTechnicianNotTheNameOnTheJob() {
+    LocalDate date = LocalDate.now().plusDays(451);
+    // Booked under a name the technician no longer goes by
+    Appointment renamed = legacy("Oil Change", date, 10);
+    renamed.setTechnician("Former Name");
+    appointmentRepository.save(renamed);
+
+    assertFalse(slots(date, first.getName()).contains("10:00"));
+    assertThrows(
+        ConflictException.class, () -> appointmentService.create(request(first, date, 10)));
+
+    // A name that is no technician's keeps the job with its technician
+    AppointmentRequest unknown = new AppointmentRequest();
+    unknown.setTechnician("Nobody Here");
+    appointmentService.update(renamed.getId(), unknown);
+    assertFalse(slots(date, first.getName()).contains("10:00"));
+    assertTrue(slots(date, second.getName()).contains("10:00"));
+  }
+
+  // Saved cancelled and revived behind the entity's back, as V14 leaves old double bookings
+  private Appointment legacy(String service, LocalDate date, int hour) {
+    Appointment appointment =
+        new Appointment(customer, service, "Civic", date, LocalTime.of(hour, 0));
+    appointment.setTechnician(first.getName());
+    appointment.setAssignedUser(first);
+    appointment.setStatus("CANCELLED");
+    Long id = appointmentRepository.save(appointment).getId();
+    jdbcTemplate.update("UPDATE appointments SET status = 'PENDING' WHERE id = ?", id);
+    return appointmentRepository.findById(id).orElseThrow();
+  }
+
+  private List<String> slots(LocalDate date, String technician) {
+    return appointmentService.getAvailability(date, technician, null).getTimeSlots();
+  }
+
+  private AppointmentRequest request(User technician, LocalDate date, int hour) {
+    AppointmentRequest request = new AppointmentRequest();
+    request.setUserId(customer.getId());
+    request.setService("Oil Change");
+    request.setVehicle("Civic");
+    request.setDate(date);
+    request.setTime(LocalTime.of(hour, 0));
+    request.setTechnician(technician.getName());
+    return request;
+  }
+}
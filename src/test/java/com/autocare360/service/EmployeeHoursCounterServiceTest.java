@@ -0,0 +1,127 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.TimeLog;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.repo.TimeLogRepository;
+import com.autocare360.support.TestFixtures;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeHoursCounterServiceTest {
+
+  @Autowired private EmployeeHoursCounterService hoursCounters;
+  @Autowired private TimeLogService timeLogService;
+  @Autowired private TimeLogRepository timeLogRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private AppointmentRepository appointmentRepository;
+
+  private Long employeeId;
+  private Appointment appointment;
+
+  @BeforeEach
+  void setUp() {
+    employeeId = fixtures.employee("tech");
+    appointment =
+        appointmentRepository.save(
+            new Appointment(
+                fixtures.user("customer"), "Oil Change", "Civic", LocalDate.now(), LocalTime.NOON));
+  }
+
+  @Test
+  void countersFollowCreateUpdateAndDelete() {
+    LocalDate today = LocalDate.now();
+    LocalDate yesterday = today.minusDays(1);
+
+    TimeLog first = timeLogService.create(log(today, "2.00"));
+    timeLogService.create(log(today, "1.25"));
+    assertHours("3.25", hoursCounters.hoursOn(employeeId, today));
+    assertEquals(2, hoursCounters.entryCount(employeeId));
+
+    // Move the first log to yesterday and change its hours
+    LocalDate previousDate = first.getDate();
+    BigDecimal previousHours = first.getHours();
+    first.setDate(yesterday);
+    first.setHours(new BigDecimal("3.00"));
+    timeLogService.update(first, first.getAppointmentId(), previousDate, previousHours);
+    assertHours("1.25", hoursCounters.hoursOn(employeeId, today));
+    assertHours("3.00", hoursCounters.hoursOn(employeeId, yesterday));
+    assertHours("4.25", hoursCounters.hoursBetween(employeeId, yesterday, today));
+
+    timeLogService.delete(first);
+    assertHours("0", hoursCounters.hoursOn(employeeId, yesterday));
+    assertEquals(1, hoursCounters.entryCount(employeeId));
+
+    assertEquals(0, hoursCounters.checkConsistency(false));
+  }
+
+  @Test
+  void consistencyCheckDetectsAndRepairsWritesThatBypassTheCounters() {
+    timeLogRepository.save(log(LocalDate.now(), "5.00"));
+
+    assertTrue(hoursCounters.checkConsistency(true) > 0);
+    assertHours("5.00", hoursCounters.hoursOn(employeeId, LocalDate.now()));
+    assertEquals(0, hoursCounters.checkConsistency(false));
+  }
+
+  @Test
+  void concurrentFirstWritesToADayAllCount() throws Exception {
+    LocalDate date = LocalDate.now().minusDays(3);
+    int writers = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(writers);
+    List<Future<?>> results = new ArrayList<>();
+    for (int i = 0; i < writers; i++) {
+      results.add(
+          pool.submit(
+              () -> {
+                start.await();
+                hoursCounters.apply(employeeId, date, new BigDecimal("0.50"), 1);
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> result : results) {
+      result.get(30, TimeUnit.SECONDS);
+    }
+    pool.shutdown();
+
+    assertHours("4.00", hoursCounters.hoursOn(employeeId, date));
+    assertEquals(writers, hoursCounters.entryCount(employeeId));
+    // Not backed by time logs; take it back out so the consistency checks stay clean
+    hoursCounters.apply(employeeId, date, new BigDecimal("-4.00"), -writers);
+  }
+
+  private TimeLog log(LocalDate date, String hours) {
+    return new TimeLog(
+        employeeRepository.getReferenceById(employeeId),
+        appointment,
+        date,
+        new BigDecimal(hours),
+        "Work");
+  }
+
+  private static void assertHours(String expected, BigDecimal actual) {
+    assertEquals(0, new BigDecimal(expected).compareTo(actual), "hours were " + actual);
+  }
+}
@@ -0,0 +1,80 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+  @Autowired private RefreshTokenService refreshTokenService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void tokenCanOnlyBeConsumedOnce() {
+    String token = refreshTokenService.issue(41L);
+
+    assertEquals(41L, refreshTokenService.consume(token));
+    assertThrows(IllegalArgumentException.class, () -> refreshTokenService.consume(token));
+  }
+
+  @Test
+  void reusingRotatedTokenRevokesTheWholeFamily() {
+    String first = refreshTokenService.issue(42L);
+    refreshTokenService.consume(first);
+    String second = refreshTokenService.issue(42L);
+    assertNotEquals(first, second);
+
+    assertThrows(IllegalArgumentException.class, () -> refreshTokenService.consume(first));
+    assertThrows(IllegalArgumentException.class, () -> refreshTokenService.consume(second));
+  }
+
+  @Test
+  void revokedTokenIsRejected() {
+    String token = refreshTokenService.issue(43L);
+    refreshTokenService.revoke(token);
+
+    assertThrows(IllegalArgumentException.class, () -> refreshTokenService.consume(token));
+  }
+
+  @Test
+  void purgeDropsExpiredTokensAndKeepsRevokedOnesUntilTheyExpire() {
+    ReflectionTestUtils.setField(refreshTokenService, "refreshTtlSeconds", -60L);
+    String expired;
+    try {
+      expired = refreshTokenService.issue(44L);
+    } finally {
+      ReflectionTestUtils.setField(refreshTokenService, "refreshTtlSeconds", 1209600L);
+    }
+    String live = refreshTokenService.issue(44L);
+    String revoked = refreshTokenService.issue(44L);
+    refreshTokenService.revoke(revoked);
+
+    refreshTokenService.purgeExpired();
+
+    assertEquals(2, tokensOf(44L));
+    // Gone from the index too, or it would be reported as expired
+    IllegalArgumentException rejected =
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.consume(expired));
+    assertEquals("Invalid refresh token", rejected.getMessage());
+    assertEquals(44L, refreshTokenService.consume(live));
+  }
+
+  @Test
+  void unknownTokenIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> refreshTokenService.consume("nope"));
+  }
+
+  private int tokensOf(Long userId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ?", Integer.class, userId);
+  }
+}
@@ -0,0 +1,115 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.autocare360.dto.AppointmentRequest;
+import com.autocare360.dto.AppointmentResponse;
+import com.autocare360.dto.ServiceCountRow;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.User;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.support.TestFixtures;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskDistributionServiceTest {
+
+  @Autowired private TaskDistributionService taskDistribution;
+  @Autowired private AppointmentService appointmentService;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private TechnicianDirectory technicianDirectory;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final LocalDate today = LocalDate.now();
+  private User customer;
+  private User first;
+  private User second;
+  // Each booking gets its own start time; a technician cannot be booked twice in one slot
+  private int nextHour = 8;
+
+  @BeforeEach
+  void setUp() {
+    customer = fixtures.user("customer");
+    first = fixtures.technician("first-tech");
+    second = fixtures.technician("second-tech");
+    // Saved through the repository, not EmployeeService
+    technicianDirectory.invalidate();
+  }
+
+  @Test
+  void rollupFollowsCreateUpdateReassignAndDelete() {
+    AppointmentResponse oil = appointmentService.create(request("Oil Change", first));
+    appointmentService.create(request("Oil Change", first));
+    AppointmentResponse brakes = appointmentService.create(request("Brake Service", first));
+    assertEquals(Map.of("Oil Change", 2L, "Brake Service", 1L), counts(first, "month"));
+
+    AppointmentRequest change = new AppointmentRequest();
+    change.setService("Inspection");
+    appointmentService.update(oil.getId(), change);
+    assertEquals(
+        Map.of("Oil Change", 1L, "Brake Service", 1L, "Inspection", 1L), counts(first, "year"));
+
+    AppointmentRequest reassign = new AppointmentRequest();
+    reassign.setTechnician(second.getName());
+    appointmentService.update(brakes.getId(), reassign);
+    appointmentService.delete(oil.getId());
+
+    assertEquals(Map.of("Oil Change", 1L), counts(first, "month"));
+    assertEquals(Map.of("Brake Service", 1L), counts(second, "month"));
+    assertEquals(Map.of("Brake Service", 1L), counts(second, "week"));
+  }
+
+  @Test
+  void rebuildMatchesIncrementalCounts() {
+    appointmentService.create(request("Oil Change", first));
+    appointmentService.create(request("AC Service", first));
+    Map<String, Long> incremental = counts(first, "year");
+
+    taskDistribution.rebuild();
+
+    assertEquals(incremental, counts(first, "year"));
+  }
+
+  @Test
+  void removingAnUncountedAppointmentNeverLeavesANegativeCount() {
+    // Written around the service, so the rollup never counted it
+    Appointment uncounted =
+        new Appointment(customer, "Tire Rotation", "Toyota Corolla", today, LocalTime.of(6, 0));
+    uncounted.setAssignedUser(first);
+    appointmentService.delete(appointmentRepository.save(uncounted).getId());
+
+    Integer negative =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM task_distribution_monthly WHERE appointments < 0", Integer.class);
+    assertEquals(0, negative);
+    appointmentService.create(request("Tire Rotation", first));
+    assertEquals(Map.of("Tire Rotation", 1L), counts(first, "month"));
+  }
+
+  private Map<String, Long> counts(User technician, String period) {
+    return taskDistribution.countByService(technician.getId(), period, today).stream()
+        .collect(Collectors.toMap(ServiceCountRow::service, ServiceCountRow::count));
+  }
+
+  private AppointmentRequest request(String service, User technician) {
+    AppointmentRequest request = new AppointmentRequest();
+    request.setUserId(customer.getId());
+    request.setService(service);
+    request.setVehicle("Toyota Corolla");
+    request.setDate(today);
+    request.setTime(LocalTime.of(nextHour++, 0));
+    request.setTechnician(technician.getName());
+    return request;
+  }
+}
@@ -0,0 +1,128 @@
+package com.autocare360.service;
+
+import static com.autocare360.support.TestFixtures.unique;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.autocare360.dto.AppointmentRequest;
+import com.autocare360.dto.AppointmentResponse;
+import com.autocare360.dto.CreateEmployeeRequest;
+import com.autocare360.dto.EmployeeResponse;
+import com.autocare360.dto.UpdateEmployeeRequest;
+import com.autocare360.entity.Role;
+import com.autocare360.entity.User;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.RoleRepository;
+import com.autocare360.repo.UserRepository;
+import com.autocare360.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TechnicianDirectoryTest {
+
+  @Autowired private TechnicianDirectory technicianDirectory;
+  @Autowired private EmployeeService employeeService;
+  @Autowired private CustomerService customerService;
+  @Autowired private AppointmentService appointmentService;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private RoleRepository roleRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private User customer;
+
+  @BeforeEach
+  void setUp() {
+    customer = fixtures.user("customer");
+  }
+
+  @Test
+  void followsEmployeeChangesAndAssignsWithoutLoadingTheTechnician() {
+    EmployeeResponse hired = employeeService.create(hire(unique("hired")));
+    assertEquals(hired.getId(), technicianDirectory.idOf(hired.getName()));
+    assertNull(technicianDirectory.idOf(customer.getName()));
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    AppointmentResponse booked = appointmentService.create(request(hired.getName()));
+    // Only the customer is read
+    assertEquals(1, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    assertEquals(
+        hired.getId(),
+        appointmentRepository.findById(booked.getId()).orElseThrow().getAssignedUser().getId());
+
+    UpdateEmployeeRequest rename = new UpdateEmployeeRequest();
+    rename.setName(unique("renamed"));
+    rename.setDepartment("Service");
+    rename.setStatus("ACTIVE");
+    employeeService.update(hired.getId(), rename);
+    assertNull(technicianDirectory.idOf(hired.getName()));
+    assertEquals(hired.getId(), technicianDirectory.idOf(rename.getName()));
+
+    EmployeeResponse leaving = employeeService.create(hire(unique("leaving")));
+    assertTrue(technicianDirectory.names().contains(leaving.getName()));
+    employeeService.delete(leaving.getId());
+    assertNull(technicianDirectory.idOf(leaving.getName()));
+  }
+
+  @Test
+  void customerEndpointsChangingAnEmployeeAreFollowedToo() {
+    EmployeeResponse hired = employeeService.create(hire(unique("via-customers")));
+    assertEquals(hired.getId(), technicianDirectory.idOf(hired.getName()));
+
+    String renamed = unique("renamed-via-customers");
+    customerService.updateCustomer(hired.getId(), renamed, null, null);
+    assertNull(technicianDirectory.idOf(hired.getName()));
+    assertEquals(hired.getId(), technicianDirectory.idOf(renamed));
+
+    customerService.deleteCustomer(hired.getId());
+    assertNull(technicianDirectory.idOf(renamed));
+  }
+
+  @Test
+  void employeeRoleCountsWithoutAnEmployeeNumber() {
+    Role employeeRole =
+        roleRepository
+            .findByName("EMPLOYEE")
+            .orElseGet(() -> roleRepository.save(Role.builder().name("EMPLOYEE").build()));
+    User technician = fixtures.user("role-only");
+    technician.getRoles().add(employeeRole);
+    technician = userRepository.save(technician);
+    // Saved through the repository, not EmployeeService
+    technicianDirectory.invalidate();
+
+    assertEquals(technician.getId(), technicianDirectory.idOf(technician.getName()));
+  }
+
+  private CreateEmployeeRequest hire(String name) {
+    CreateEmployeeRequest request = new CreateEmployeeRequest();
+    request.setName(name);
+    request.setEmail(name + "@example.com");
+    request.setDepartment("Service");
+    return request;
+  }
+
+  private AppointmentRequest request(String technician) {
+    AppointmentRequest request = new AppointmentRequest();
+    request.setUserId(customer.getId());
+    request.setService("Oil Change");
+    request.setVehicle("Civic");
+    request.setDate(LocalDate.now().plusDays(700));
+    request.setTime(LocalTime.of(9, 0));
+    request.setTechnician(technician);
+    return request;
+  }
+}
@@ -0,0 +1,163 @@
+package com.autocare360.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.autocare360.dto.BulkTimeLogItemResult;
+import com.autocare360.dto.BulkTimeLogResponseDTO;
+import com.autocare360.dto.CreateTimeLogRequestDTO;
+import com.autocare360.entity.Appointment;
+import com.autocare360.entity.TimeLog;
+import com.autocare360.entity.User;
+import com.autocare360.repo.AppointmentRepository;
+import com.autocare360.repo.EmployeeRepository;
+import com.autocare360.support.TestFixtures;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TimeLogServiceTest {
+
+  @Autowired private TimeLogService timeLogService;
+  @Autowired private EmployeeHoursCounterService hoursCounters;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private AppointmentRepository appointmentRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private Long firstTech;
+  private Long secondTech;
+  private Appointment brakes;
+  private Appointment tires;
+
+  @BeforeEach
+  void setUp() {
+    firstTech = fixtures.employee("first");
+    secondTech = fixtures.employee("second");
+    User customer = fixtures.user("customer");
+    brakes =
+        appointmentRepository.save(
+            new Appointment(customer, "Brake Service", "Civic", LocalDate.now(), LocalTime.NOON));
+    tires =
+        appointmentRepository.save(
+            new Appointment(customer, "Tire Rotation", "Civic", LocalDate.now(), LocalTime.NOON));
+  }
+
+  @Test
+  void actualHoursCountEveryEmployeesLogsThroughCreateUpdateAndDelete() {
+    TimeLog mine = timeLogService.create(log(firstTech, brakes, "2.00"));
+    TimeLog theirs = timeLogService.create(log(secondTech, brakes, "1.50"));
+    assertHours("3.50", brakes);
+
+    BigDecimal previousHours = mine.getHours();
+    mine.setHours(new BigDecimal("3.00"));
+    timeLogService.update(mine, brakes.getId(), mine.getDate(), previousHours);
+    assertHours("4.50", brakes);
+
+    // Moving a log to another appointment takes it off the old one
+    previousHours = theirs.getHours();
+    theirs.setAppointment(tires);
+    timeLogService.update(theirs, brakes.getId(), theirs.getDate(), previousHours);
+    assertHours("3.00", brakes);
+    assertHours("1.50", tires);
+
+    timeLogService.delete(mine);
+    assertHours("0.00", brakes);
+  }
+
+  @Test
+  void managedAppointmentEditedAlongsideALogDoesNotOverwriteItsHours() {
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              Appointment managed = appointmentRepository.findById(brakes.getId()).orElseThrow();
+              managed.setNotes("Pads ordered");
+              timeLogService.create(log(firstTech, managed, "2.00"));
+              // Edited again after the log, so it is flushed once more at commit
+              managed.setNotes("Pads fitted");
+            });
+
+    assertHours("2.00", brakes);
+    assertEquals(
+        "Pads fitted", appointmentRepository.findById(brakes.getId()).orElseThrow().getNotes());
+  }
+
+  @Test
+  void backfillRecomputesDriftedTotals() {
+    timeLogService.create(log(firstTech, brakes, "2.00"));
+    timeLogService.create(log(secondTech, brakes, "0.75"));
+    jdbcTemplate.update("UPDATE appointments SET actual_hours = 9 WHERE id = ?", brakes.getId());
+
+    timeLogService.backfillActualHours();
+
+    assertHours("2.75", brakes);
+    assertHours("0.00", tires);
+  }
+
+  @Test
+  void bulkCreateInsertsValidEntriesAndReportsTheRest() {
+    LocalDate today = LocalDate.now();
+    List<CreateTimeLogRequestDTO> entries =
+        List.of(
+            entry(brakes.getId(), "1.50", today),
+            entry(brakes.getId(), "0.00", today), // bad hours
+            entry(tires.getId(), "2.00", today.minusDays(1)),
+            entry(-1L, "1.00", today), // unknown appointment
+            entry(brakes.getId(), "1.00", today.plusDays(1)), // future date
+            entry(tires.getId(), "0.25", today));
+
+    BulkTimeLogResponseDTO response = timeLogService.createAll(firstTech, entries);
+
+    assertEquals(3, response.created());
+    assertEquals(3, response.rejected());
+    assertEquals(
+        List.of("CREATED", "REJECTED", "CREATED", "REJECTED", "REJECTED", "CREATED"),
+        response.results().stream().map(BulkTimeLogItemResult::status).toList());
+    assertEquals("Appointment not found", response.results().get(3).error());
+    assertEquals(
+        tires.getId(),
+        jdbcTemplate.queryForObject(
+            "SELECT appointment_id FROM time_logs WHERE id = ?",
+            Long.class,
+            response.results().get(2).timeLogId()));
+    assertHours("1.50", brakes);
+    assertHours("2.25", tires);
+    assertEquals(0, new BigDecimal("1.75").compareTo(hoursCounters.hoursOn(firstTech, today)));
+    assertEquals(3, hoursCounters.entryCount(firstTech));
+  }
+
+  private static CreateTimeLogRequestDTO entry(Long appointmentId, String hours, LocalDate date) {
+    CreateTimeLogRequestDTO entry = new CreateTimeLogRequestDTO();
+    entry.setAppointmentId(appointmentId);
+    entry.setHours(new BigDecimal(hours));
+    entry.setDate(date);
+    entry.setDescription("Offline entry");
+    return entry;
+  }
+
+  private void assertHours(String expected, Appointment appointment) {
+    BigDecimal actual =
+        appointmentRepository.findById(appointment.getId()).orElseThrow().getActualHours();
+    assertEquals(0, new BigDecimal(expected).compareTo(actual), "actual hours " + actual);
+  }
+
+  private TimeLog log(Long employeeId, Appointment appointment, String hours) {
+    return new TimeLog(
+        employeeRepository.getReferenceById(employeeId),
+        appointment,
+        LocalDate.now(),
+        new BigDecimal(hours),
+        "Work");
+  }
+}
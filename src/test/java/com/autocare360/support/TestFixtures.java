@@ -0,0 +1,73 @@
+package com.autocare360.support;
+
+import com.autocare360.entity.User;
+import com.autocare360.repo.UserRepository;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Users and employee rows for tests running against the shared in-memory database. Every handle
+ * gets a suffix no other call in the JVM has used, so tests never trip over each other's unique
+ * emails or employee numbers.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  private final UserRepository userRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  /** {@code prefix} followed by a suffix unique within the JVM. */
+  public static String unique(String prefix) {
+    return prefix + "-" + SEQUENCE.incrementAndGet();
+  }
+
+  /** A saved user named after a unique handle, with {@code <handle>@example.com} as email. */
+  public User user(String prefix) {
+    String handle = unique(prefix);
+    return save(handle, handle, null);
+  }
+
+  /** A saved user with a unique email and the given display name. */
+  public User user(String prefix, String name) {
+    return save(unique(prefix), name, null);
+  }
+
+  /** A saved user with an employee number, which is what makes them a technician. */
+  public User technician(String prefix) {
+    String handle = unique(prefix);
+    return save(handle, handle, "EMP-" + SEQUENCE.incrementAndGet());
+  }
+
+  /**
+   * Add the {@code employees} row for a saved user. Time logs and timers reference employees by the
+   * user's id, so the row shares it.
+   */
+  public Long employee(User user) {
+    jdbcTemplate.update(
+        "INSERT INTO employees (id, name, email, status) VALUES (?, ?, ?, 'ACTIVE')",
+        user.getId(),
+        user.getName(),
+        user.getEmail());
+    return user.getId();
+  }
+
+  /** A saved user with an {@code employees} row of their own, returning its id. */
+  public Long employee(String prefix) {
+    return employee(user(prefix));
+  }
+
+  private User save(String handle, String name, String employeeNo) {
+    return userRepository.save(
+        User.builder()
+            .email(handle + "@example.com")
+            .name(name)
+            .employeeNo(employeeNo)
+            .passwordHash("not-a-real-hash")
+            .build());
+  }
+}